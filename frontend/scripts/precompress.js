@@ -0,0 +1,39 @@
+// Writes gzip and brotli variants next to the built files,
+// the server sends the one matching Accept-Encoding instead of compressing on every request.
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const buildDir = path.resolve(__dirname, '..', 'build');
+const compressible = /\.(html|js|css|json|svg|txt|map|ico)$/;
+const minSize = 1024;
+
+const encoders = [
+  ['.gz', (content) => zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION })],
+  ['.br', (content) => zlib.brotliCompressSync(content, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  })],
+];
+
+const listFiles = (dir) => fs.readdirSync(dir, { withFileTypes: true })
+  .flatMap((entry) => {
+    const fullPath = path.join(dir, entry.name);
+    return entry.isDirectory() ? listFiles(fullPath) : [fullPath];
+  });
+
+const precompress = (file) => {
+  const content = fs.readFileSync(file);
+  encoders.forEach(([extension, encode]) => {
+    const encoded = encode(content);
+    if (encoded.length < content.length) {
+      fs.writeFileSync(`${file}${extension}`, encoded);
+    }
+  });
+};
+
+listFiles(buildDir)
+  .filter((file) => compressible.test(file) && fs.statSync(file).size >= minSize)
+  .forEach(precompress);
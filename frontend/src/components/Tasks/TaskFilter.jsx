@@ -11,6 +11,7 @@ import {
 
 import { useAuth, useNotify } from '../../hooks/index.js';
 import routes from '../../routes.js';
+import fetchTasks from '../../lib/fetchTasks.js';
 
 const TaskFilter = (props) => {
   const { foundTasks: handler } = props;
@@ -91,10 +92,9 @@ const TaskFilter = (props) => {
           params.labels = formData.labelId;
         }
 
-        const { data: response } = await axios
-          .get(routes.apiTasks(), { params, headers: auth.getAuthHeader() });
+        const page = await fetchTasks({ params, headers: auth.getAuthHeader() });
 
-        handler(response);
+        handler(page, params);
       } catch (e) {
         setSubmitting(false);
         if (e.response?.status === 401) {
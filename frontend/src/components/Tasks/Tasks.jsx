@@ -8,30 +8,53 @@ import { useNavigate, Link } from 'react-router-dom';
 
 import { useAuth, useNotify } from '../../hooks/index.js';
 import routes from '../../routes.js';
+import fetchTasks from '../../lib/fetchTasks.js';
 import TaskFilter from './TaskFilter.jsx';
 
 const Tasks = () => {
   const { t } = useTranslation();
   const [tasks, setTasks] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [filter, setFilter] = useState({});
   const auth = useAuth();
   const notify = useNotify();
   const navigate = useNavigate();
 
+  const showPage = (page, params) => {
+    setTasks(page.tasks);
+    setNextCursor(page.nextCursor);
+    setFilter(params);
+  };
+
+  const handleFetchError = (e) => {
+    if (e.response?.status === 401) {
+      const from = { pathname: routes.loginPagePath() };
+      navigate(from);
+      notify.addErrors([{ defaultMessage: t('Доступ запрещён! Пожалуйста, авторизируйтесь.') }]);
+    } else if (e.response?.status === 422 && e.response?.data) {
+      notify.addErrors(e.response?.data);
+    } else {
+      notify.addErrors([{ defaultMessage: e.message }]);
+    }
+  };
+
+  const loadMore = async () => {
+    try {
+      const page = await fetchTasks({ params: filter, headers: auth.getAuthHeader() }, nextCursor);
+      setTasks([...tasks, ...page.tasks]);
+      setNextCursor(page.nextCursor);
+    } catch (e) {
+      handleFetchError(e);
+    }
+  };
+
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const { data } = await axios.get(routes.apiTasks(), { headers: auth.getAuthHeader() });
-        setTasks(data);
+        const page = await fetchTasks({ headers: auth.getAuthHeader() });
+        showPage(page, {});
       } catch (e) {
-        if (e.response?.status === 401) {
-          const from = { pathname: routes.loginPagePath() };
-          navigate(from);
-          notify.addErrors([{ defaultMessage: t('Доступ запрещён! Пожалуйста, авторизируйтесь.') }]);
-        } else if (e.response?.status === 422 && e.response?.data) {
-          notify.addErrors(e.response?.data);
-        } else {
-          notify.addErrors([{ defaultMessage: e.message }]);
-        }
+        handleFetchError(e);
       }
     };
     fetchData();
@@ -63,7 +86,7 @@ const Tasks = () => {
   return (
     <>
       <Link to={`${routes.tasksPagePath()}/new`}>{t('createTask')}</Link>
-      <TaskFilter foundTasks={(filteredTasks) => setTasks(filteredTasks)} />
+      <TaskFilter foundTasks={showPage} />
       <Table striped hover>
         <thead>
           <tr>
@@ -97,6 +120,7 @@ const Tasks = () => {
           ))}
         </tbody>
       </Table>
+      {nextCursor && <Button variant="outline-primary" onClick={loadMore}>{t('loadMore')}</Button>}
     </>
   );
 };
@@ -61,6 +61,8 @@ const EditUser = () => {
       try {
         const newUser = {
           ...userData,
+          // an empty password keeps the current one
+          password: userData.password || undefined,
         };
         log('user.edit', newUser);
         await axios.put(`${routes.apiUsers()}/${params.userId}`, newUser, { headers: auth.getAuthHeader() });
@@ -0,0 +1,21 @@
+// @ts-check
+
+import axios from 'axios';
+
+import routes from '../routes.js';
+
+const NEXT_CURSOR_HEADER = 'x-next-cursor';
+
+const PAGE_SIZE = 50;
+
+// One page of the task list, nextCursor is null on the last page.
+const fetchTasks = async (config = {}, cursor = null) => {
+  const params = { ...config.params, limit: PAGE_SIZE };
+  if (cursor) {
+    params.cursor = cursor;
+  }
+  const { data, headers } = await axios.get(routes.apiTasks(), { ...config, params });
+  return { tasks: data, nextCursor: headers[NEXT_CURSOR_HEADER] ?? null };
+};
+
+export default fetchTasks;
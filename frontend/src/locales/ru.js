@@ -31,6 +31,7 @@ const ru = {
     isMyTasks: 'Только мои задачи',
     show: 'Показать',
     createTask: 'Создать задачу',
+    loadMore: 'Показать ещё',
     createLabel: 'Создать метку',
     taskCreating: 'Создание задачи',
     labelCreating: 'Создание метки',
@@ -0,0 +1,87 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.dto.UserDto;
+import hexlet.code.model.Task;
+import hexlet.code.service.LabelService;
+import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatusService;
+import hexlet.code.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a task with an executor and labels through the service, in a transaction like the controller's,
+ * against the application booted on an in-memory H2 database. Tasks accumulate over the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CreateTaskBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transaction;
+
+    private TaskService taskService;
+
+    private TaskDto taskData;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        taskService = context.getBean(TaskService.class);
+
+        final Long authorId = transaction.execute(status -> context.getBean(UserService.class)
+                .createUser(new UserDto(EMAIL, "Bench", "Mark", "password")).getId());
+        final Long statusId = transaction.execute(status -> context.getBean(TaskStatusService.class)
+                .createStatus(new TaskStatusDto("new")).getId());
+        final List<Long> labelIds = transaction.execute(status -> List.of(
+                context.getBean(LabelService.class).createLabel(new LabelDto("bug")).getId(),
+                context.getBean(LabelService.class).createLabel(new LabelDto("backend")).getId()));
+
+        taskData = new TaskDto("Benchmark task", "Created by the benchmark", authorId, statusId, Set.copyOf(labelIds));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return transaction.execute(status -> taskService.createTask(taskData));
+    }
+}
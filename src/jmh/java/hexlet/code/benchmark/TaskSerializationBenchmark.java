@@ -0,0 +1,128 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hexlet.code.config.EntityJsonModule;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing task lists the way the task endpoints return them: every task with its status, author, executor and labels.
+ * Compares plain bean introspection with the application's modules, and reports the size of a list
+ * as written and as gzipped by the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+    private static final int USERS = 10;
+
+    private static final int STATUSES = 5;
+
+    private static final int LABELS = 20;
+
+    private static final int LABELS_PER_TASK = 3;
+
+    private static final String DESCRIPTION = "Reproduce the issue on staging, attach the logs and the request ids, "
+            + "then describe the expected and the actual behaviour so the fix can be verified by someone else.";
+
+    @Param({"20", "100", "500"})
+    private int tasks;
+
+    @Param({"reflection", "application"})
+    private String serializers;
+
+    private ObjectMapper mapper;
+
+    private List<Task> taskList;
+
+    private long gzipBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "application".equals(serializers)
+                ? Jackson2ObjectMapperBuilder.json().modules(new BlackbirdModule(), new EntityJsonModule()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        final Date now = new Date();
+        final List<User> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new User(id, "First" + id, "Last" + id, "user" + id + "@example.com", "hash", now));
+        }
+        final List<TaskStatus> statuses = new ArrayList<>();
+        for (long id = 1; id <= STATUSES; id++) {
+            statuses.add(new TaskStatus(id, "status" + id, now));
+        }
+        final List<Label> labels = new ArrayList<>();
+        for (long id = 1; id <= LABELS; id++) {
+            labels.add(new Label(id, "label" + id, now));
+        }
+
+        taskList = new ArrayList<>();
+        for (int index = 0; index < tasks; index++) {
+            final List<Label> taskLabels = new ArrayList<>();
+            for (int label = 0; label < LABELS_PER_TASK; label++) {
+                taskLabels.add(labels.get((index + label) % LABELS));
+            }
+            taskList.add(new Task((long) index + 1, "Task number " + index, DESCRIPTION,
+                    statuses.get(index % STATUSES), users.get(index % USERS), users.get((index + 1) % USERS),
+                    taskLabels, now, 0L));
+        }
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(mapper.writeValueAsBytes(taskList));
+        }
+        gzipBytes = compressed.size();
+    }
+
+    @Benchmark
+    public byte[] writeTaskList(PayloadSize size) throws JsonProcessingException {
+        final byte[] json = mapper.writeValueAsBytes(taskList);
+        size.bytes = json.length;
+        size.gzipBytes = gzipBytes;
+        return json;
+    }
+
+    /**
+     * Bytes of one serialized list, reported next to the time per list.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        private long bytes;
+
+        private long gzipBytes;
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public long gzipBytes() {
+            return gzipBytes;
+        }
+    }
+}
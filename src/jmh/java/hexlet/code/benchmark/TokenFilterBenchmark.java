@@ -0,0 +1,51 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.config.security.TokenAuthenticationFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Extracting the token from the Authorization header, with authentication itself stubbed out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenFilterBenchmark {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9."
+            + "eyJpc3MiOiJ0YXNrTWFuIiwidXNlcm5hbWUiOiJiZW5jaG1hcmtAZXhhbXBsZS5jb20ifQ."
+            + "c2lnbmF0dXJlLW5vdC12ZXJpZmllZC1oZXJl";
+
+    private TokenAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new TokenAuthenticationFilter(AnyRequestMatcher.INSTANCE);
+        filter.setAuthenticationManager(authentication -> authentication);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(AUTHORIZATION, "Bearer " + TOKEN);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication attemptAuthentication() {
+        return filter.attemptAuthentication(request, response);
+    }
+}
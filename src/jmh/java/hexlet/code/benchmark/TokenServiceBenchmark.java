@@ -0,0 +1,56 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.service.JWTTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying tokens, with and without payload compression and the verified tokens cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenServiceBenchmark {
+
+    private static final long EXPIRATION_SEC = 86400;
+
+    private static final long CLOCK_SKEW_SEC = 300;
+
+    @Param({"false", "true"})
+    private boolean compress;
+
+    @Param({"0", "10000"})
+    private long verifiedCacheSize;
+
+    private JWTTokenService tokenService;
+
+    private Map<String, Object> attributes;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new JWTTokenService("taskMan", EXPIRATION_SEC, CLOCK_SKEW_SEC, compress, verifiedCacheSize);
+        attributes = Map.of("username", "benchmark@example.com");
+        token = tokenService.getToken(attributes);
+    }
+
+    @Benchmark
+    public String getToken() {
+        return tokenService.getToken(attributes);
+    }
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return tokenService.parse(token);
+    }
+}
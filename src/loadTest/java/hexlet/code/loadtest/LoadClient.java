@@ -0,0 +1,186 @@
+package hexlet.code.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.dto.TaskDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * One client logged in as a seeded user, sending requests back to back until the run ends.
+ * Updates and deletes go to tasks the client created, as only authors may change a task.
+ */
+final class LoadClient implements Callable<LoadClient.Result> {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+
+    private final URI baseUri;
+
+    private final String email;
+
+    private final LoadTestApplication.SeedData seed;
+
+    private final List<Operation> choices;
+
+    private final int pageSize;
+
+    private final long measureFromNanos;
+
+    private final long endNanos;
+
+    private final List<Long> ownTasks = new ArrayList<>();
+
+    private final Result result = new Result();
+
+    private String token;
+
+    LoadClient(HttpClient http, URI baseUri, String email, LoadTestApplication.SeedData seed,
+               List<Operation> choices, int pageSize, long measureFromNanos, long endNanos) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.email = email;
+        this.seed = seed;
+        this.choices = choices;
+        this.pageSize = pageSize;
+        this.measureFromNanos = measureFromNanos;
+        this.endNanos = endNanos;
+    }
+
+    @Override
+    public Result call() throws IOException, InterruptedException {
+        login();
+        while (System.nanoTime() < endNanos) {
+            final Operation chosen = choices.get(ThreadLocalRandom.current().nextInt(choices.size()));
+            final Operation operation = ownTasks.isEmpty()
+                    && (chosen == Operation.UPDATE || chosen == Operation.DELETE) ? Operation.CREATE : chosen;
+
+            final long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = !perform(operation);
+            } catch (IOException e) {
+                failed = true;
+            }
+            if (start >= measureFromNanos) {
+                result.record(operation, System.nanoTime() - start, failed);
+            }
+        }
+        return result;
+    }
+
+    private boolean perform(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case LOGIN:
+                return login();
+            case LIST:
+                return send(authorized("tasks?limit=" + pageSize).GET()).statusCode() == 200;
+            case FILTER:
+                return send(authorized("tasks?executorId=" + random(seed.userIds())
+                        + "&labels=" + random(seed.labelIds()) + "&limit=" + pageSize).GET()).statusCode() == 200;
+            case CREATE:
+                return create();
+            case UPDATE:
+                return send(authorized("tasks/" + random(ownTasks))
+                        .PUT(json(taskData("Updated by " + email)))).statusCode() == 200;
+            case DELETE:
+                final Long id = ownTasks.remove(ThreadLocalRandom.current().nextInt(ownTasks.size()));
+                return send(authorized("tasks/" + id).DELETE()).statusCode() == 200;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("login"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(json(new LoginDto(email, LoadTestApplication.PASSWORD))));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        token = response.body();
+        return true;
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(authorized("tasks").POST(json(taskData("Created by " + email))));
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        ownTasks.add(MAPPER.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private TaskDto taskData(String description) {
+        return new TaskDto("Load test task", description, random(seed.userIds()), random(seed.statusIds()),
+                Set.of(random(seed.labelIds())));
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header(AUTHORIZATION, "Bearer " + token)
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body));
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    /**
+     * Latencies in nanoseconds and failures per operation, measured by a single client.
+     */
+    static final class Result {
+
+        private final Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+
+        private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean failed) {
+            latencies.computeIfAbsent(operation, key -> new ArrayList<>()).add(nanos);
+            if (failed) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+
+        void addTo(Result total) {
+            latencies.forEach((operation, values) ->
+                    total.latencies.computeIfAbsent(operation, key -> new ArrayList<>()).addAll(values));
+            errors.forEach((operation, count) -> total.errors.merge(operation, count, Integer::sum));
+        }
+
+        Map<Operation, List<Long>> getLatencies() {
+            return latencies;
+        }
+
+        int getErrors(Operation operation) {
+            return errors.getOrDefault(operation, 0);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package hexlet.code.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.AppApplication;
+import hexlet.code.dto.BatchMode;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.dto.UserDto;
+import hexlet.code.service.LabelService;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskStatusService;
+import hexlet.code.service.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on an in-memory database, seeds it and sends it the {@code loadtest.mix} of API calls
+ * from concurrent clients over HTTP. Prints throughput and latency percentiles per operation, writes them to
+ * {@code loadtest.report-file} and exits with 1 when a {@code loadtest.thresholds} limit is crossed.
+ * Application properties are taken from the command line as well, e.g. {@code --server.tomcat.threads.max=50}.
+ * With {@code loadtest.compare-concurrency-limit} the load is sent twice, to thread-per-request only and with
+ * {@code requests.concurrency-limit.enabled}, and throughput and p99 of both runs are printed side by side.
+ */
+public final class LoadTestApplication {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private static final List<Double> PERCENTILES = List.of(0.5, 0.95, 0.99);
+
+    private static final String CONCURRENCY_LIMIT_ENABLED = "requests.concurrency-limit.enabled";
+
+    private static final String LIMITED_RUN_DATABASE = "jdbc:h2:mem:loadtest-limited;DB_CLOSE_DELAY=-1";
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        final ConfigurableApplicationContext context = boot(args);
+        final LoadTestProperties properties = Binder.get(context.getEnvironment())
+                .bind("loadtest", LoadTestProperties.class)
+                .orElseGet(LoadTestProperties::new);
+
+        final Map<String, Object> report;
+        final List<String> violations = new ArrayList<>();
+        if (properties.isCompareConcurrencyLimit()) {
+            if (isConcurrencyLimited(context)) {
+                throw new IllegalArgumentException("Leave " + CONCURRENCY_LIMIT_ENABLED + " off when comparing, "
+                        + "the second run enables it");
+            }
+            final Measurement threadPerRequest = measure(context, properties);
+            final String[] limitedArgs = Arrays.copyOf(args, args.length + 2);
+            limitedArgs[args.length] = "--" + CONCURRENCY_LIMIT_ENABLED + "=true";
+            limitedArgs[args.length + 1] = "--spring.datasource.url=" + LIMITED_RUN_DATABASE;
+            final Measurement limited = measure(boot(limitedArgs), properties);
+
+            printComparison(threadPerRequest, limited);
+            threadPerRequest.violations().forEach(violation -> violations.add("thread per request: " + violation));
+            limited.violations().forEach(violation -> violations.add("concurrency limit: " + violation));
+            report = new LinkedHashMap<>();
+            report.put("runs", List.of(threadPerRequest.report(), limited.report()));
+        } else {
+            final Measurement measurement = measure(context, properties);
+            violations.addAll(measurement.violations());
+            report = measurement.report();
+        }
+        violations.forEach(violation -> System.out.println("Threshold crossed: " + violation));
+
+        final Path reportFile = Path.of(properties.getReportFile());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext boot(String[] args) {
+        return new SpringApplicationBuilder(AppApplication.class)
+                .profiles("loadtest")
+                .run(args);
+    }
+
+    private static boolean isConcurrencyLimited(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getProperty(CONCURRENCY_LIMIT_ENABLED, Boolean.class, false);
+    }
+
+    /**
+     * Seeds the application, sends it the load and shuts it down.
+     */
+    private static Measurement measure(ConfigurableApplicationContext context, LoadTestProperties properties)
+            throws InterruptedException, ExecutionException {
+        final boolean concurrencyLimited = isConcurrencyLimited(context);
+        final LoadClient.Result total;
+        try {
+            final SeedData seed = seed(context, properties);
+            final URI baseUri = URI.create("http://localhost:"
+                    + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("base-url") + "/");
+
+            System.out.printf("Seeded %d users and %d tasks, running %d clients for %ds after a %ds warmup%s%n",
+                    properties.getUsers(), properties.getTasks(), properties.getClients(),
+                    properties.getDurationSec(), properties.getWarmupSec(),
+                    concurrencyLimited ? " with the concurrency limit" : "");
+            total = run(baseUri, seed, properties);
+        } finally {
+            SpringApplication.exit(context);
+        }
+        total.getLatencies().values().forEach(Collections::sort);
+
+        final Map<String, Object> report = report(total, properties);
+        report.put("concurrencyLimit", concurrencyLimited);
+        return new Measurement(report, violations(total, properties));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printComparison(Measurement threadPerRequest, Measurement limited) {
+        final Map<String, Object> before = (Map<String, Object>) threadPerRequest.report().get("operations");
+        final Map<String, Object> after = (Map<String, Object>) limited.report().get("operations");
+
+        System.out.println("Thread per request vs. concurrency limit:");
+        System.out.printf("%-8s %12s %12s %12s %12s %12s %12s%n",
+                "", "req/s", "limited", "p99 ms", "limited", "errors", "limited");
+        before.forEach((operation, stats) -> {
+            final Map<String, Object> beforeStats = (Map<String, Object>) stats;
+            final Map<String, Object> afterStats = (Map<String, Object>) after.get(operation);
+            if (afterStats == null) {
+                return;
+            }
+            System.out.printf(Locale.ROOT, "%-8s %12.1f %12.1f %12.1f %12.1f %12d %12d%n", operation,
+                    beforeStats.get("throughput"), afterStats.get("throughput"),
+                    beforeStats.get("p99Ms"), afterStats.get("p99Ms"),
+                    beforeStats.get("errors"), afterStats.get("errors"));
+        });
+        System.out.printf(Locale.ROOT, "%-8s %12.1f %12.1f%n", "total",
+                threadPerRequest.report().get("throughput"), limited.report().get("throughput"));
+    }
+
+    private static SeedData seed(ConfigurableApplicationContext context, LoadTestProperties properties) {
+        final TransactionTemplate transaction =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        final UserService userService = context.getBean(UserService.class);
+        final TaskStatusService statusService = context.getBean(TaskStatusService.class);
+        final LabelService labelService = context.getBean(LabelService.class);
+        final TaskBatchService taskBatchService = context.getBean(TaskBatchService.class);
+
+        final List<String> emails = new ArrayList<>();
+        final List<Long> userIds = new ArrayList<>();
+        for (int index = 0; index < properties.getUsers(); index++) {
+            final UserDto user = new UserDto("user" + index + "@loadtest.local", "Load", "User" + index, PASSWORD);
+            userIds.add(transaction.execute(status -> userService.createUser(user).getId()));
+            emails.add(user.getEmail());
+        }
+        final List<Long> statusIds = new ArrayList<>();
+        for (int index = 0; index < properties.getStatuses(); index++) {
+            final TaskStatusDto taskStatus = new TaskStatusDto("status" + index);
+            statusIds.add(transaction.execute(status -> statusService.createStatus(taskStatus).getId()));
+        }
+        final List<Long> labelIds = new ArrayList<>();
+        for (int index = 0; index < properties.getLabels(); index++) {
+            final LabelDto label = new LabelDto("label" + index);
+            labelIds.add(transaction.execute(status -> labelService.createLabel(label).getId()));
+        }
+        final SeedData seed = new SeedData(emails, userIds, statusIds, labelIds);
+
+        final List<TaskDto> tasks = new ArrayList<>();
+        for (int index = 0; index < properties.getTasks(); index++) {
+            tasks.add(new TaskDto("Seeded task " + index, "Seeded for the load test",
+                    userIds.get(index % userIds.size()), statusIds.get(index % statusIds.size()),
+                    Set.of(labelIds.get(index % labelIds.size()))));
+        }
+        try {
+            for (int from = 0; from < tasks.size(); from += SEED_BATCH_SIZE) {
+                final List<TaskDto> batch = tasks.subList(from, Math.min(from + SEED_BATCH_SIZE, tasks.size()));
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        emails.get(from / SEED_BATCH_SIZE % emails.size()), null, List.of()));
+                final boolean applied = Boolean.TRUE.equals(transaction.execute(status ->
+                        taskBatchService.createTasks(batch, BatchMode.ALL_OR_NOTHING).isApplied()));
+                if (!applied) {
+                    throw new IllegalStateException("Seeding tasks failed");
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return seed;
+    }
+
+    private static LoadClient.Result run(URI baseUri, SeedData seed, LoadTestProperties properties)
+            throws InterruptedException, ExecutionException {
+        final List<Operation> choices = new ArrayList<>();
+        properties.getMix().forEach((operation, weight) -> choices.addAll(Collections.nCopies(weight, operation)));
+        if (choices.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operations with a positive weight");
+        }
+
+        final HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        final long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getWarmupSec());
+        final long end = measureFrom + TimeUnit.SECONDS.toNanos(properties.getDurationSec());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(properties.getClients());
+        try {
+            final List<Future<LoadClient.Result>> clients = new ArrayList<>();
+            for (int index = 0; index < properties.getClients(); index++) {
+                final String email = seed.emails().get(index % seed.emails().size());
+                clients.add(executor.submit(new LoadClient(http, baseUri, email, seed, choices,
+                        properties.getPageSize(), measureFrom, end)));
+            }
+            final LoadClient.Result total = new LoadClient.Result();
+            for (Future<LoadClient.Result> client : clients) {
+                client.get().addTo(total);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> report(LoadClient.Result total, LoadTestProperties properties) {
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s%n",
+                "", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+
+        final Map<String, Object> operations = new LinkedHashMap<>();
+        long requests = 0;
+        for (Operation operation : Operation.values()) {
+            final List<Long> latencies = total.getLatencies().get(operation);
+            if (latencies == null) {
+                continue;
+            }
+            requests += latencies.size();
+            final double throughput = (double) latencies.size() / properties.getDurationSec();
+            final List<Double> percentiles = PERCENTILES.stream().map(p -> percentileMs(latencies, p)).toList();
+
+            System.out.printf(Locale.ROOT, "%-8s %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.name().toLowerCase(Locale.ROOT), latencies.size(), total.getErrors(operation),
+                    throughput, percentiles.get(0), percentiles.get(1), percentiles.get(2));
+
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", latencies.size());
+            stats.put("errors", total.getErrors(operation));
+            stats.put("throughput", throughput);
+            stats.put("p50Ms", percentiles.get(0));
+            stats.put("p95Ms", percentiles.get(1));
+            stats.put("p99Ms", percentiles.get(2));
+            operations.put(operation.name().toLowerCase(Locale.ROOT), stats);
+        }
+        final double throughput = (double) requests / properties.getDurationSec();
+        System.out.printf(Locale.ROOT, "Total %d requests, %.1f req/s%n", requests, throughput);
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", properties.getClients());
+        report.put("durationSec", properties.getDurationSec());
+        report.put("throughput", throughput);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static List<String> violations(LoadClient.Result total, LoadTestProperties properties) {
+        final LoadTestProperties.Thresholds thresholds = properties.getThresholds();
+        final List<String> violations = new ArrayList<>();
+        long requests = 0;
+        for (Map.Entry<Operation, List<Long>> entry : total.getLatencies().entrySet()) {
+            final Operation operation = entry.getKey();
+            final List<Long> latencies = entry.getValue();
+            requests += latencies.size();
+
+            final double errorRate = (double) total.getErrors(operation) / latencies.size();
+            if (errorRate > thresholds.getMaxErrorRate()) {
+                violations.add(String.format(Locale.ROOT, "%s error rate %.3f > %.3f",
+                        operation, errorRate, thresholds.getMaxErrorRate()));
+            }
+            final long maxP99Ms = thresholds.getP99Ms().getOrDefault(operation, thresholds.getMaxP99Ms());
+            final double p99Ms = percentileMs(latencies, 0.99);
+            if (p99Ms > maxP99Ms) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms > %d ms", operation, p99Ms, maxP99Ms));
+            }
+        }
+        final double throughput = (double) requests / properties.getDurationSec();
+        if (throughput < thresholds.getMinThroughput()) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f req/s",
+                    throughput, thresholds.getMinThroughput()));
+        }
+        return violations;
+    }
+
+    /**
+     * Nearest-rank percentile of latencies sorted in ascending order.
+     */
+    private static double percentileMs(List<Long> sortedNanos, double percentile) {
+        final int rank = (int) Math.ceil(percentile * sortedNanos.size());
+        return sortedNanos.get(Math.max(rank - 1, 0)) / NANOS_PER_MS;
+    }
+
+    record SeedData(List<String> emails, List<Long> userIds, List<Long> statusIds, List<Long> labelIds) {
+    }
+
+    record Measurement(Map<String, Object> report, List<String> violations) {
+    }
+}
@@ -0,0 +1,79 @@
+package hexlet.code.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class LoadTestProperties {
+
+    /**
+     * Users seeded before the run, clients log in as them in turn.
+     */
+    private int users = 20;
+
+    /**
+     * Tasks seeded before the run, spread evenly over the users.
+     */
+    private int tasks = 2000;
+
+    private int statuses = 4;
+
+    private int labels = 10;
+
+    /**
+     * Concurrent clients, each sends its next request once the previous one is answered.
+     */
+    private int clients = 50;
+
+    /**
+     * Requests sent during the warmup aren't measured.
+     */
+    private int warmupSec = 10;
+
+    private int durationSec = 60;
+
+    /**
+     * Relative weights of the operations, operations left out aren't called.
+     */
+    private Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    /**
+     * Page size of list and filter requests.
+     */
+    private int pageSize = 50;
+
+    private String reportFile = "build/reports/loadtest/results.json";
+
+    /**
+     * Sends the load a second time with requests.concurrency-limit enabled and compares both runs.
+     */
+    private boolean compareConcurrencyLimit;
+
+    private Thresholds thresholds = new Thresholds();
+
+    @Getter
+    @Setter
+    public static class Thresholds {
+
+        /**
+         * Share of failed requests of an operation.
+         */
+        private double maxErrorRate = 0.01;
+
+        private long maxP99Ms = 1000;
+
+        /**
+         * Per operation p99 limits, taking precedence over maxP99Ms.
+         */
+        private Map<Operation, Long> p99Ms = new EnumMap<>(Operation.class);
+
+        /**
+         * Requests per second of all operations together, not checked when 0.
+         */
+        private double minThroughput;
+    }
+}
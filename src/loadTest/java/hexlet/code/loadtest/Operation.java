@@ -0,0 +1,13 @@
+package hexlet.code.loadtest;
+
+/**
+ * API calls a load test client makes, picked at random in proportion to {@code loadtest.mix}.
+ */
+public enum Operation {
+    LOGIN,
+    LIST,
+    FILTER,
+    CREATE,
+    UPDATE,
+    DELETE
+}
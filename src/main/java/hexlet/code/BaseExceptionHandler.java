@@ -1,7 +1,11 @@
 package hexlet.code;
 
+import hexlet.code.dto.InvalidCursorException;
+import hexlet.code.service.BatchSizeException;
+import hexlet.code.service.InvalidSearchQueryException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,11 +18,14 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -44,6 +51,24 @@ public class BaseExceptionHandler {
         return exception.getMessage();
     }
 
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public String invalidCursorExceptionHandler(InvalidCursorException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public String invalidSearchQueryExceptionHandler(InvalidSearchQueryException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(BatchSizeException.class)
+    public String batchSizeExceptionHandler(BatchSizeException exception) {
+        return exception.getMessage();
+    }
+
     @ResponseStatus(BAD_REQUEST)
     @ExceptionHandler(DuplicateKeyException.class)
     public String duplicateKeyExceptionHandler(DuplicateKeyException exception) {
@@ -62,12 +87,24 @@ public class BaseExceptionHandler {
         return exception.getMessage();
     }
 
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public String optimisticLockingFailureExceptionHandler(OptimisticLockingFailureException exception) {
+        return exception.getMessage();
+    }
+
     @ResponseStatus(FORBIDDEN)
     @ExceptionHandler(AccessDeniedException.class)
     public String accessDeniedException(AccessDeniedException exception) {
         return exception.getMessage();
     }
 
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public String rejectedExecutionExceptionHandler(RejectedExecutionException exception) {
+        return exception.getMessage();
+    }
+
     @ResponseStatus(UNAUTHORIZED)
     @ExceptionHandler(UsernameNotFoundException.class)
     public String userNotFoundExceptionHandler(UsernameNotFoundException exception) {
@@ -0,0 +1,83 @@
+package hexlet.code;
+
+import hexlet.code.dto.ExportFormat;
+import hexlet.code.dto.ImportErrorDto;
+import hexlet.code.dto.ImportResultDto;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.ServerHeartbeat;
+import hexlet.code.service.TaskImportService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Imports a task file into the configured database:
+ * {@code ImportApplication tasks.ndjson [--format=CSV] [--default-author=email]}.
+ * Refuses to run while a server is running on the same database: ETags, task stats and the search index of a server
+ * live in its memory and would not see the imported rows. A running server imports through its import endpoint.
+ */
+public final class ImportApplication {
+
+    private ImportApplication() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final ApplicationArguments arguments = new DefaultApplicationArguments(args);
+        if (arguments.getNonOptionArgs().size() != 1) {
+            System.err.println("Usage: ImportApplication <file> [--format=NDJSON|CSV] [--default-author=<email>]");
+            System.exit(2);
+        }
+        final Path file = Path.of(arguments.getNonOptionArgs().get(0));
+        final ExportFormat format = ExportFormat.valueOf(
+                option(arguments, "format", ExportFormat.NDJSON.name()).toUpperCase(Locale.ROOT));
+        final String defaultAuthor = option(arguments, "default-author", null);
+
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        if (context.getBean(ServerHeartbeat.class).isAnyServerRunning()) {
+            System.err.println("A server is running on this database, stop it or import through its "
+                    + "/tasks/import endpoint");
+            System.exit(SpringApplication.exit(context, () -> 3));
+        }
+
+        final Long defaultAuthorId = defaultAuthor == null
+                ? null
+                : context.getBean(UserRepository.class).findByEmail(defaultAuthor)
+                        .map(User::getId)
+                        .orElseThrow(() -> new IllegalArgumentException("No users with email " + defaultAuthor));
+
+        final ImportResultDto result;
+        try (InputStream in = Files.newInputStream(file)) {
+            result = context.getBean(TaskImportService.class).importTasks(in, format, defaultAuthorId, true,
+                    processed -> System.out.println("Processed " + processed + " rows"));
+        }
+
+        System.out.println("Imported " + result.getImported() + " rows, rejected " + result.getRejected());
+        for (ImportErrorDto error : result.getErrors()) {
+            System.out.println("Row " + error.getRow() + ": " + error.getError());
+        }
+        final long unreported = result.getRejected() - result.getErrors().size();
+        if (unreported > 0) {
+            System.out.println("... " + unreported + " more errors not reported");
+        }
+
+        System.exit(SpringApplication.exit(context, () -> result.getRejected() == 0 ? 0 : 1));
+    }
+
+    private static String option(ApplicationArguments arguments, String name, String defaultValue) {
+        final List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache regions for the small reference tables.
+ * Entity and query result regions are bounded and expire, update timestamps must outlive query results.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private final long maxSize;
+
+    private final long ttlSec;
+
+    public CacheConfiguration(@Value("${cache.reference-data.max-size:1000}") final long maxSize,
+                              @Value("${cache.reference-data.ttl-sec:600}") final long ttlSec) {
+        this.maxSize = maxSize;
+        this.ttlSec = ttlSec;
+    }
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        final CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        createRegion(cacheManager, TaskStatus.class.getName(), boundedRegion());
+        createRegion(cacheManager, Label.class.getName(), boundedRegion());
+        createRegion(cacheManager, QUERY_RESULTS_REGION, boundedRegion());
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, unboundedRegion());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(final CacheManager cacheManager,
+                              final String name,
+                              final CaffeineConfiguration<Object, Object> configuration) {
+        // the caching provider shares one manager per class loader, several contexts may be started in tests
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedRegion() {
+        final CaffeineConfiguration<Object, Object> configuration = unboundedRegion();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSec)));
+        return configuration;
+    }
+
+    private CaffeineConfiguration<Object, Object> unboundedRegion() {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
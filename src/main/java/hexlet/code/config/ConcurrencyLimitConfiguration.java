@@ -0,0 +1,151 @@
+package hexlet.code.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hexlet.code.controller.TaskController.EVENTS_PATH;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+
+/**
+ * Opt-in bound on the API requests in flight, sized to the connection pool. Handlers spend most of their time
+ * on JDBC, so past a small multiple of the pool size more worker threads only queue on the pool until its
+ * connection timeout. A surge waits briefly for a permit and otherwise gets 503 with Retry-After.
+ * A request that goes async, e.g. a streamed export, keeps its permit until the response completes.
+ * The task event stream holds no connection and isn't counted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "requests.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfiguration {
+
+    private final String baseUrl;
+
+    private final int permits;
+
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitConfiguration(
+            @Value("${base-url}") final String baseUrl,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int poolSize,
+            @Value("${requests.concurrency-limit.permits-per-connection:2}") final int permitsPerConnection,
+            @Value("${requests.concurrency-limit.acquire-timeout-ms:1000}") final long acquireTimeoutMs) {
+        this.baseUrl = baseUrl;
+        this.permits = poolSize * permitsPerConnection;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter() {
+        final FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(new Semaphore(permits, true), acquireTimeoutMs,
+                        baseUrl + TASK_CONTROLLER_PATH + EVENTS_PATH));
+        registration.addUrlPatterns(baseUrl + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+        private final Semaphore permits;
+
+        private final long acquireTimeoutMs;
+
+        private final String eventsPath;
+
+        ConcurrencyLimitFilter(final Semaphore permits, final long acquireTimeoutMs, final String eventsPath) {
+            this.permits = permits;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+            this.eventsPath = eventsPath;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(final HttpServletRequest request) {
+            return request.getRequestURI().equals(request.getContextPath() + eventsPath);
+        }
+
+        @Override
+        protected void doFilterInternal(final HttpServletRequest request,
+                                        final HttpServletResponse response,
+                                        final FilterChain chain) throws ServletException, IOException {
+            final boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            if (!acquired) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+
+            final Permit permit = new Permit(permits);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(permit);
+                } else {
+                    permit.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Released once, when the request completes, however the async processing ended.
+     */
+    private static final class Permit implements AsyncListener {
+
+        private final Semaphore permits;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(final Semaphore permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
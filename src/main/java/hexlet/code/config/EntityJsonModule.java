@@ -0,0 +1,133 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Writes entities field by field instead of through bean introspection, with the same properties as before.
+ * A reference Hibernate hasn't loaded is written with its id only, the services load what a response shows.
+ * Labels of a task are written only when loaded, their ids aren't known without a query.
+ */
+public class EntityJsonModule extends SimpleModule {
+
+    public EntityJsonModule() {
+        super(EntityJsonModule.class.getSimpleName());
+        addSerializer(Task.class, new TaskSerializer());
+        addSerializer(User.class, new UserSerializer());
+        addSerializer(TaskStatus.class, new TaskStatusSerializer());
+        addSerializer(Label.class, new LabelSerializer());
+    }
+
+    /**
+     * Handles Hibernate proxies of the entity, subclasses get the fields of the loaded entity written.
+     */
+    private abstract static class EntitySerializer<T> extends StdSerializer<T> {
+
+        EntitySerializer(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            if (value instanceof HibernateProxy proxy && proxy.getHibernateLazyInitializer().isUninitialized()) {
+                final LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+                provider.defaultSerializeField("id", initializer.getIdentifier(), gen);
+            } else {
+                writeFields(handledType().cast(Hibernate.unproxy(value)), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+
+        protected abstract void writeFields(T entity, JsonGenerator gen, SerializerProvider provider)
+                throws IOException;
+
+        protected static void writeDateField(String name, Date date, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeFieldName(name);
+            if (date == null) {
+                gen.writeNull();
+            } else {
+                provider.defaultSerializeDateValue(date, gen);
+            }
+        }
+    }
+
+    private static final class TaskSerializer extends EntitySerializer<Task> {
+
+        TaskSerializer() {
+            super(Task.class);
+        }
+
+        @Override
+        protected void writeFields(Task task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField("id", task.getId(), gen);
+            gen.writeStringField("name", task.getName());
+            gen.writeStringField("description", task.getDescription());
+            provider.defaultSerializeField("taskStatus", task.getTaskStatus(), gen);
+            provider.defaultSerializeField("author", task.getAuthor(), gen);
+            provider.defaultSerializeField("executor", task.getExecutor(), gen);
+            if (Hibernate.isInitialized(task.getLabels())) {
+                provider.defaultSerializeField("labels", task.getLabels(), gen);
+            }
+            writeDateField("createdAt", task.getCreatedAt(), gen, provider);
+        }
+    }
+
+    private static final class UserSerializer extends EntitySerializer<User> {
+
+        UserSerializer() {
+            super(User.class);
+        }
+
+        @Override
+        protected void writeFields(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField("id", user.getId(), gen);
+            gen.writeStringField("firstName", user.getFirstName());
+            gen.writeStringField("lastName", user.getLastName());
+            gen.writeStringField("email", user.getEmail());
+            writeDateField("createdAt", user.getCreatedAt(), gen, provider);
+        }
+    }
+
+    private static final class TaskStatusSerializer extends EntitySerializer<TaskStatus> {
+
+        TaskStatusSerializer() {
+            super(TaskStatus.class);
+        }
+
+        @Override
+        protected void writeFields(TaskStatus status, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            provider.defaultSerializeField("id", status.getId(), gen);
+            gen.writeStringField("name", status.getName());
+            writeDateField("createdAt", status.getCreatedAt(), gen, provider);
+        }
+    }
+
+    private static final class LabelSerializer extends EntitySerializer<Label> {
+
+        LabelSerializer() {
+            super(Label.class);
+        }
+
+        @Override
+        protected void writeFields(Label label, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeField("id", label.getId(), gen);
+            gen.writeStringField("name", label.getName());
+            writeDateField("createdAt", label.getCreatedAt(), gen, provider);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modules Spring Boot registers with the application's ObjectMapper.
+ */
+@Configuration
+public class JsonConfiguration {
+
+    /**
+     * Replaces reflective getter and setter calls of DTOs with generated lambdas.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module entityJsonModule() {
+        return new EntityJsonModule();
+    }
+}
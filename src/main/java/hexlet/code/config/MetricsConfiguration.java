@@ -0,0 +1,126 @@
+package hexlet.code.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.cache.CacheManager;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Metrics Spring Boot doesn't record on its own: the controller method of every request,
+ * the number of SQL statements Hibernate ran for it, and the regions of the second-level cache.
+ * Request, repository, Hibernate and connection pool metrics come from the actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final String UNMAPPED = "none";
+
+    /**
+     * Tags request timers with the handling controller method, e.g. {@code TaskController#getAll}.
+     */
+    @Bean
+    public WebMvcTagsContributor handlerMethodTag() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Throwable exception) {
+                final String name = handler instanceof HandlerMethod method
+                        ? method.getBeanType().getSimpleName() + "#" + method.getMethod().getName()
+                        : UNMAPPED;
+                return Tags.of("handler", name);
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    /**
+     * The second-level cache lives in a JCache manager of its own, the auto-configuration only binds Spring caches.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(final CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name -> JCacheMetrics.monitor(
+                registry, hibernateCacheManager.getCache(name), Tags.of("cache.manager", "hibernate")));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueriesPerRequestFilter> queriesPerRequestFilter(final MeterRegistry registry) {
+        final FilterRegistrationBean<QueriesPerRequestFilter> registration =
+                new FilterRegistrationBean<>(new QueriesPerRequestFilter(registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Counts statements prepared by Hibernate on the current thread while a request is being counted.
+     */
+    static final class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            final int[] count = COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+            return sql;
+        }
+    }
+
+    static final class QueriesPerRequestFilter extends OncePerRequestFilter {
+
+        private final MeterRegistry registry;
+
+        QueriesPerRequestFilter(final MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        protected void doFilterInternal(final HttpServletRequest request,
+                                        final HttpServletResponse response,
+                                        final FilterChain chain) throws ServletException, IOException {
+            final int[] count = new int[1];
+            StatementCounter.COUNT.set(count);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                StatementCounter.COUNT.remove();
+                final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("SQL statements run by Hibernate per request")
+                        .tags("method", request.getMethod(), "uri", pattern == null ? UNMAPPED : pattern.toString())
+                        .register(registry)
+                        .record(count[0]);
+            }
+        }
+    }
+}
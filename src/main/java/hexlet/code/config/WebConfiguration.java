@@ -4,36 +4,66 @@ package hexlet.code.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private static final Duration HASHED_ASSETS_MAX_AGE = Duration.ofDays(365);
+
     private final String baseApiPath;
 
     public WebConfiguration(@Value("${base-url}") String baseApiPath) {
         this.baseApiPath = baseApiPath;
     }
 
+    /**
+     * API responses may be stored but must be revalidated with their ETag,
+     * otherwise the default no-store headers keep browsers from sending If-None-Match.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        final WebContentInterceptor apiCaching = new WebContentInterceptor();
+        apiCaching.addCacheMapping(CacheControl.noCache(), baseApiPath + "/**");
+        registry.addInterceptor(apiCaching);
+    }
+
+    /**
+     * Bundles under /static have the content hash in their names, so they never change and are cached for good.
+     * Everything else is revalidated with its Last-Modified date on each use.
+     * The frontend build writes .br and .gz files next to the assets, they are sent to clients accepting them.
+     */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry
                 .addResourceHandler("/static/**")
-                .addResourceLocations("classpath:/static/static/");
+                .addResourceLocations("classpath:/static/static/")
+                .setCacheControl(new ImmutableCacheControl(HASHED_ASSETS_MAX_AGE))
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
 
         registry
                 .addResourceHandler("/*.*")
-                .addResourceLocations("classpath:/static/");
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
 
         registry
                 .addResourceHandler("/", "/**")
-                .setCachePeriod(0)
+                .setCacheControl(CacheControl.noCache())
                 .addResourceLocations("classpath:/static/index.html")
                 .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
                 .addResolver(new PathResourceResolver() {
                     @Override
                     protected Resource getResource(String resourcePath, Resource location) throws IOException {
@@ -45,4 +75,21 @@ public class WebConfiguration implements WebMvcConfigurer {
                     }
                 });
     }
+
+    /**
+     * CacheControl can't express the immutable directive, which keeps browsers from revalidating on reload.
+     */
+    private static final class ImmutableCacheControl extends CacheControl {
+
+        private final String headerValue;
+
+        ImmutableCacheControl(Duration maxAge) {
+            this.headerValue = CacheControl.maxAge(maxAge).cachePublic().getHeaderValue() + ", immutable";
+        }
+
+        @Override
+        public String getHeaderValue() {
+            return headerValue;
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package hexlet.code.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.config.replica.ReplicaRoutingDataSource.Replica;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single datasource with a primary pool and a pool per replica when replicas are configured.
+ * The pools of replicas take the primary's Hikari settings that aren't connection specific.
+ * Replica reads use the second-level and query caches but never fill them: the caches are shared with
+ * primary reads, data older than the primary's must not be served from there.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replicas.sources[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(final HikariDataSource primaryDataSource,
+                                                             final ReplicaProperties replicaProperties,
+                                                             final LiquibaseProperties liquibaseProperties,
+                                                             final ResourceLoader resourceLoader,
+                                                             final ObjectProvider<EntityManagerFactory> factory)
+            throws LiquibaseException {
+
+        final List<Replica> replicas = new ArrayList<>();
+        for (int index = 0; index < replicaProperties.getSources().size(); index++) {
+            final ReplicaProperties.Source source = replicaProperties.getSources().get(index);
+            final HikariDataSource dataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(dataSource);
+            dataSource.setJdbcUrl(source.getUrl());
+            dataSource.setUsername(source.getUsername());
+            dataSource.setPassword(source.getPassword());
+            dataSource.setPoolName("replica-" + index);
+
+            if (source.isInitializeSchema()) {
+                initializeSchema(dataSource, liquibaseProperties, resourceLoader);
+            }
+            replicas.add(new Replica(dataSource.getPoolName(), dataSource, source.getLagQuery()));
+        }
+
+        final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                replicaProperties.getMaxLagMs(), replicaProperties.getStickyMs());
+        routingDataSource.setOnReplicaRead(() -> readCachesOnly(factory.getObject()));
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static void readCachesOnly(final EntityManagerFactory factory) {
+        final EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(factory);
+        if (entityManager == null) {
+            return;
+        }
+        final Session session = entityManager.unwrap(Session.class);
+        final CacheMode cacheMode = session.getCacheMode();
+        if (cacheMode == CacheMode.GET) {
+            return;
+        }
+        session.setCacheMode(CacheMode.GET);
+        // the session may outlive the transaction, open in view, and serve writes afterwards
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                session.setCacheMode(cacheMode);
+            }
+        });
+    }
+
+    private static void initializeSchema(final DataSource replica,
+                                         final LiquibaseProperties liquibaseProperties,
+                                         final ResourceLoader resourceLoader) throws LiquibaseException {
+        final SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(replica);
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        liquibase.afterPropertiesSet();
+    }
+}
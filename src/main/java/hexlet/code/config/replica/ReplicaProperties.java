@@ -0,0 +1,47 @@
+package hexlet.code.config.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "replicas")
+public class ReplicaProperties {
+
+    private List<Source> sources = new ArrayList<>();
+
+    /**
+     * Replicas lagging behind the primary by more are skipped until they catch up.
+     */
+    private long maxLagMs = 1000;
+
+    /**
+     * How long reads of a user go to the primary after a write of theirs commits.
+     */
+    private long stickyMs = 5000;
+
+    @Getter
+    @Setter
+    public static class Source {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Query returning the replica lag in milliseconds, the replica is only checked to be reachable without it.
+         */
+        private String lagQuery;
+
+        /**
+         * Applies the changelog on start, for local databases standing in for replicas.
+         */
+        private boolean initializeSchema;
+    }
+}
@@ -0,0 +1,204 @@
+package hexlet.code.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Must sit behind a lazy connection proxy: the transaction is only marked read-only after its connection
+ * was requested, the physical connection has to be chosen on the first statement.
+ * A user whose write committed recently reads from the primary, so they see their own changes despite the lag.
+ * So does a transaction that asked for it with {@link #readFromPrimary()}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SEC = 1;
+
+    private static final String PRIMARY_READS = ReplicaRoutingDataSource.class.getName() + ".PRIMARY_READS";
+
+    private final List<Replica> replicas;
+
+    private final long maxLagMs;
+
+    private final long stickyMs;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private Runnable onReplicaRead = () -> { };
+
+    public ReplicaRoutingDataSource(final DataSource primary, final List<Replica> replicas,
+                                    final long maxLagMs, final long stickyMs) {
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        this.stickyMs = stickyMs;
+
+        final Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickToPrimaryAfterCommit();
+            return PRIMARY;
+        }
+        if (TransactionSynchronizationManager.hasResource(PRIMARY_READS)) {
+            return PRIMARY;
+        }
+        final String user = currentUser();
+        if (user != null && stickyUntil.getOrDefault(user, 0L) > System.currentTimeMillis()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            final Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.isHealthy()) {
+                onReplicaRead.run();
+                return replica.name();
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Sends the current read-only transaction to the primary, for reads that must agree with state kept
+     * outside the database, like the version counters ETags are built from.
+     * Takes effect only when called before the transaction's first statement, its connection is chosen there.
+     */
+    public static void readFromPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_READS)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_READS, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_READS);
+            }
+        });
+    }
+
+    /**
+     * Called in the transaction about to read from a replica.
+     */
+    public void setOnReplicaRead(final Runnable onReplicaRead) {
+        this.onReplicaRead = onReplicaRead;
+    }
+
+    /**
+     * Takes replicas lagging too far or unreachable out of rotation until they recover.
+     */
+    @Scheduled(fixedDelayString = "${replicas.check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            final boolean healthy = isInSync(replica);
+            if (healthy != replica.isHealthy()) {
+                log.warn("Replica {} is {}", replica.name(), healthy ? "back in rotation" : "out of rotation");
+            }
+            replica.setHealthy(healthy);
+        }
+        final long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    private boolean isInSync(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection()) {
+            if (replica.lagQuery() == null) {
+                return connection.isValid(VALIDATION_TIMEOUT_SEC);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(replica.lagQuery())) {
+                return lag.next() && lag.getLong(1) <= maxLagMs;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica {} check failed", replica.name(), e);
+            return false;
+        }
+    }
+
+    private void stickToPrimaryAfterCommit() {
+        final String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(user, System.currentTimeMillis() + stickyMs);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    public static final class Replica {
+
+        private final String name;
+
+        private final HikariDataSource dataSource;
+
+        private final String lagQuery;
+
+        private volatile boolean healthy = true;
+
+        public Replica(final String name, final HikariDataSource dataSource, final String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+
+        String name() {
+            return name;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        String lagQuery() {
+            return lagQuery;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        void setHealthy(final boolean healthy) {
+            this.healthy = healthy;
+        }
+    }
+}
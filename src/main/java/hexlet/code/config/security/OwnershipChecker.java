@@ -0,0 +1,43 @@
+package hexlet.code.config.security;
+
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Ownership rules for {@code @PreAuthorize} expressions.
+ * Compares ids with the one carried by {@link UserPrincipal}, a missing entity is reported as 404 rather than 403.
+ */
+@Component
+@AllArgsConstructor
+public class OwnershipChecker {
+
+    private final UserRepository userRepository;
+
+    private final TaskRepository taskRepository;
+
+    public boolean isCurrentUser(final Long userId, final Authentication authentication) {
+        if (userId.equals(currentUserId(authentication))) {
+            return true;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("No users with such id");
+        }
+        return false;
+    }
+
+    public boolean isTaskAuthor(final Long taskId, final Authentication authentication) {
+        final Long authorId = taskRepository.findAuthorIdById(taskId)
+                .orElseThrow(() -> new NoSuchElementException("No Tasks with such id"));
+
+        return authorId.equals(currentUserId(authentication));
+    }
+
+    private Long currentUserId(final Authentication authentication) {
+        return ((UserPrincipal) authentication.getPrincipal()).getId();
+    }
+}
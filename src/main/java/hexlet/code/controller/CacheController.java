@@ -0,0 +1,59 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.CacheRegionStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static hexlet.code.controller.CacheController.CACHE_CONTROLLER_PATH;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("${base-url}" + CACHE_CONTROLLER_PATH)
+public class CacheController {
+
+    public static final String CACHE_CONTROLLER_PATH = "/caches";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Operation(summary = "Get hit and miss statistics of the second-level cache regions")
+    @ApiResponse(responseCode = "200", description = "Statistics of all cache regions, counted only while "
+            + "hibernate.generate_statistics is enabled", content =
+        @Content(mediaType = "application/json", schema = @Schema(implementation = CacheRegionStatisticsDto.class)))
+    @GetMapping
+    public List<CacheRegionStatisticsDto> getStatistics() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return null;
+        }
+        return new CacheRegionStatisticsDto(
+                region,
+                regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(),
+                regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory()
+        );
+    }
+}
@@ -4,6 +4,8 @@ import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
+import hexlet.code.service.ResourceVersions;
+import hexlet.code.service.ResourceVersions.Resource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -30,6 +34,7 @@ import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
 
 @AllArgsConstructor
 @RestController
+@Transactional
 @RequestMapping("${base-url}" + LABEL_CONTROLLER_PATH)
 public class LabelController {
 
@@ -39,25 +44,40 @@ public class LabelController {
 
     private final LabelRepository labelRepository;
 
+    private final ResourceVersions resourceVersions;
+
     @Operation(summary = "Get list of All Labels")
-    @ApiResponse(responseCode = "200", description = "List of all Labels", content =
-        @Content(mediaType = "application/json", schema = @Schema(implementation = Label.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of all Labels", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = Label.class))),
+            @ApiResponse(responseCode = "304", description = "Labels not modified since the If-None-Match tag")
+    })
     @GetMapping
-    public List<Label> getAll() {
-       return labelRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<Label> getAll(@Parameter(hidden = true) WebRequest request) {
+        if (request.checkNotModified(resourceVersions.etag(Resource.LABELS))) {
+            return null;
+        }
+        return labelRepository.findAll();
     }
 
     @Operation(summary = "Get specific Label by it id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Label found", content =
             @Content(mediaType = "application/json", schema = @Schema(implementation = Label.class))),
+            @ApiResponse(responseCode = "304", description = "Label not modified since the If-None-Match tag"),
             @ApiResponse(responseCode = "404", description = "No Labels with such id")
     })
     @GetMapping(path = "/{id}")
+    @Transactional(readOnly = true)
     public Label getLabelById(
             @Parameter(description = "Id of Label to be found", required = true)
-            @PathVariable final Long id) {
+            @PathVariable final Long id,
+            @Parameter(hidden = true) WebRequest request) {
 
+        if (request.checkNotModified(resourceVersions.etag(Resource.LABELS))) {
+            return null;
+        }
         return labelRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("No labels with such id"));
     }
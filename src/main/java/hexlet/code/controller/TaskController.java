@@ -1,10 +1,28 @@
 package hexlet.code.controller;
 
 import com.querydsl.core.types.Predicate;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.dto.BatchMode;
+import hexlet.code.dto.BatchResultDto;
+import hexlet.code.dto.CursorPage;
+import hexlet.code.dto.ExportFormat;
+import hexlet.code.dto.ImportResultDto;
+import hexlet.code.dto.TaskBatchUpdateDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskExportDto;
+import hexlet.code.dto.TaskListItemDto;
+import hexlet.code.dto.TaskStatsDto;
 import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.ResourceVersions;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskEventService;
+import hexlet.code.service.TaskExportService;
+import hexlet.code.service.TaskImportService;
+import hexlet.code.service.TaskSearchService;
 import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,23 +31,41 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.transaction.Transactional;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.service.ResourceVersions.Resource.LABELS;
+import static hexlet.code.service.ResourceVersions.Resource.TASKS;
+import static hexlet.code.service.ResourceVersions.Resource.TASK_STATUSES;
+import static hexlet.code.service.ResourceVersions.Resource.USERS;
 
 
 @RestController
@@ -40,35 +76,164 @@ public class TaskController {
 
     public static final String TASK_CONTROLLER_PATH = "/tasks";
 
-    private static final String ONLY_OWNER_BY_ID = """
-            @taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()
-        """;
+    public static final String EVENTS_PATH = "/events";
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String ONLY_OWNER_BY_ID = "@ownershipChecker.isTaskAuthor(#id, authentication)";
 
     private final TaskRepository taskRepository;
 
     private final TaskService taskService;
 
-    @Operation(summary = "Get list of Tasks by predicate")
-    @ApiResponse(responseCode = "200", description = "List of Tasks by predicate", content =
-        @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class)))
+    private final TaskBatchService taskBatchService;
+
+    private final TaskStatsService taskStatsService;
+
+    private final TaskSearchService taskSearchService;
+
+    private final TaskExportService taskExportService;
+
+    private final TaskImportService taskImportService;
+
+    private final TaskEventService taskEventService;
+
+    private final ResourceVersions resourceVersions;
+
+    @Operation(summary = "Get page of Tasks by predicate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of Tasks by predicate, cursor of the next page "
+                    + "is returned in the " + NEXT_CURSOR_HEADER + " header", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = TaskListItemDto.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the If-None-Match tag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
     @GetMapping
-    public Iterable<Task> getAll(
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<TaskListItemDto>> getAll(
             @Parameter(description = "predicate")
-            @QuerydslPredicate(root = Task.class) Predicate predicate) {
-        return taskRepository.findAll(predicate);
+            @QuerydslPredicate(root = Task.class) Predicate predicate,
+            @Parameter(description = "Cursor of the page from the previous response")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server maximum")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(hidden = true) WebRequest request) {
+
+        if (request.checkNotModified(resourceVersions.etag(TASKS, TASK_STATUSES, LABELS, USERS))) {
+            return null;
+        }
+        final CursorPage<TaskListItemDto> page = taskService.getTasks(predicate, cursor, limit);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @Operation(summary = "Export Tasks by predicate")
+    @ApiResponse(responseCode = "200", description = "Stream of all Tasks by predicate in id order", content = {
+        @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = TaskExportDto.class)),
+        @Content(mediaType = "text/csv")
+    })
+    @GetMapping(path = "/export")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "predicate")
+            @QuerydslPredicate(root = Task.class) Predicate predicate,
+            @Parameter(description = "Format of the exported rows")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        final ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("tasks." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(out -> taskExportService.export(predicate, format, out));
+    }
+
+    @Operation(summary = "Import Tasks in the export format")
+    @ApiResponse(responseCode = "200", description = "Numbers of imported and rejected rows, errors of rejected rows",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResultDto.class)))
+    @PostMapping(path = "/import")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResultDto importTasks(
+            @Parameter(description = "Rows to import, authored by the current user: rows naming another author "
+                    + "are rejected", required = true)
+            InputStream rows,
+            @Parameter(description = "Format of the imported rows")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
+
+        return taskImportService.importTasks(rows, format, currentUser.getId(), false, processed -> { });
+    }
+
+    @Operation(summary = "Search Tasks by words of name and description")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of Tasks, best matches first, cursor of the next "
+                    + "page is returned in the " + NEXT_CURSOR_HEADER + " header", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = TaskListItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Query without words, invalid cursor or page size")
+    })
+    @GetMapping(path = "/search")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<TaskListItemDto>> search(
+            @Parameter(description = "Words to search for", required = true)
+            @RequestParam("q") String query,
+            @Parameter(description = "Cursor of the page from the previous response")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server maximum")
+            @RequestParam(required = false) Integer limit) {
+
+        final CursorPage<TaskListItemDto> page = taskSearchService.search(query, cursor, limit);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @Operation(summary = "Stream Task changes as Server-Sent Events")
+    @ApiResponse(responseCode = "200", description = "Created, updated and deleted events with the changed fields, "
+            + "a reset event when the changes since Last-Event-ID are no longer kept or tasks were imported", content =
+        @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TaskEventDto.class)))
+    @GetMapping(path = EVENTS_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @Parameter(description = "Id of the last received event to resume after")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+
+        return taskEventService.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Get counts of Tasks per status, executor and label")
+    @ApiResponse(responseCode = "200", description = "Counts of Tasks by group id", content =
+        @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStatsDto.class)))
+    @GetMapping(path = "/stats")
+    public TaskStatsDto getStats() {
+        return taskStatsService.getStats();
     }
 
     @Operation(summary = "Get specific Task by it id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task found", content =
                 @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the If-None-Match tag"),
             @ApiResponse(responseCode = "404", description = "No Tasks with such id")
     })
     @GetMapping(path = "/{id}")
+    @Transactional(readOnly = true)
     public Task getTaskById(
             @Parameter(description = "Id of Task to be found", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(hidden = true) WebRequest request) {
 
+        final String embeddedTag = resourceVersions.etag(TASK_STATUSES, LABELS, USERS);
+        final long version = taskRepository.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("No Tasks with such id"));
+        if (request.checkNotModified(resourceVersions.etag(version, embeddedTag))) {
+            return null;
+        }
         return taskRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("No Tasks with such id"));
     }
@@ -89,11 +254,50 @@ public class TaskController {
         return taskService.createTask(taskData);
     }
 
+    @Operation(summary = "Create Tasks in bulk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Batch applied, per-item results", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDto.class))),
+            @ApiResponse(responseCode = "422", description = "Batch rejected, results of the rejected items", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDto.class)))
+    })
+    @PostMapping(path = "/batch")
+    public ResponseEntity<BatchResultDto> createTasks(
+            @Parameter(description = "Data of Tasks to be created", required = true)
+            @RequestBody List<TaskDto> tasksData,
+            @Parameter(description = "Whether one rejected item rejects the whole batch")
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode) {
+
+        final BatchResultDto result = taskBatchService.createTasks(tasksData, mode);
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(result);
+    }
+
+    @Operation(summary = "Update Tasks in bulk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch applied, per-item results", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDto.class))),
+            @ApiResponse(responseCode = "422", description = "Batch rejected, results of the rejected items", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDto.class)))
+    })
+    @PutMapping(path = "/batch")
+    public ResponseEntity<BatchResultDto> updateTasks(
+            @Parameter(description = "Ids and data of Tasks to be updated", required = true)
+            @RequestBody List<TaskBatchUpdateDto> tasksData,
+            @Parameter(description = "Whether one rejected item rejects the whole batch")
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchMode mode) {
+
+        final BatchResultDto result = taskBatchService.updateTasks(tasksData, mode);
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(result);
+    }
+
     @Operation(summary = "Update Task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated", content =
                 @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
             @ApiResponse(responseCode = "422", description = "Data validation failed"),
+            @ApiResponse(responseCode = "403", description = "Task can be updated only by its author"),
             @ApiResponse(responseCode = "404", description = "No Tasks with such id")
     })
     @PutMapping(path = "/{id}")
@@ -110,6 +314,7 @@ public class TaskController {
     @Operation(summary = "Delete Task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task deleted"),
+            @ApiResponse(responseCode = "403", description = "Task can be deleted only by its author"),
             @ApiResponse(responseCode = "404", description = "No Tasks with such id")
     })
     @DeleteMapping(path = "/{id}")
@@ -118,6 +323,6 @@ public class TaskController {
             @Parameter(description = "Id of Task to be deleted", required = true)
             @PathVariable Long id) {
 
-        taskRepository.deleteById(id);
+        taskService.deleteTask(id);
     }
 }
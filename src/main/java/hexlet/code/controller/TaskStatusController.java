@@ -3,6 +3,8 @@ package hexlet.code.controller;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.ResourceVersions;
+import hexlet.code.service.ResourceVersions.Resource;
 import hexlet.code.service.TaskStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -29,6 +33,7 @@ import java.util.NoSuchElementException;
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_CONTROLLER_PATH;
 
 @RestController
+@Transactional
 @AllArgsConstructor
 @RequestMapping("${base-url}" + TASK_STATUS_CONTROLLER_PATH)
 public class TaskStatusController {
@@ -39,11 +44,20 @@ public class TaskStatusController {
 
     private final TaskStatusService statusService;
 
+    private final ResourceVersions resourceVersions;
+
     @Operation(summary = "Get list of All Statuses")
-    @ApiResponse(responseCode = "200", description = "List of all Statuses", content =
-        @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStatus.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of all Statuses", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStatus.class))),
+            @ApiResponse(responseCode = "304", description = "Statuses not modified since the If-None-Match tag")
+    })
     @GetMapping
-    public List<TaskStatus> getAll() {
+    @Transactional(readOnly = true)
+    public List<TaskStatus> getAll(@Parameter(hidden = true) WebRequest request) {
+        if (request.checkNotModified(resourceVersions.etag(Resource.TASK_STATUSES))) {
+            return null;
+        }
         return statusRepository.findAll();
     }
 
@@ -51,13 +65,19 @@ public class TaskStatusController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Status found", content =
                 @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStatus.class))),
+            @ApiResponse(responseCode = "304", description = "Status not modified since the If-None-Match tag"),
             @ApiResponse(responseCode = "404", description = "No Statuses with such id")
     })
     @GetMapping(path = "/{id}")
+    @Transactional(readOnly = true)
     public TaskStatus getStatusById(
             @Parameter(description = "Id of Status to be found", required = true)
-            @PathVariable final Long id) {
+            @PathVariable final Long id,
+            @Parameter(hidden = true) WebRequest request) {
 
+        if (request.checkNotModified(resourceVersions.etag(Resource.TASK_STATUSES))) {
+            return null;
+        }
         return statusRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("No statuses with such id"));
     }
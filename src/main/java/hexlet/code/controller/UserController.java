@@ -1,8 +1,11 @@
 package hexlet.code.controller;
 
 import hexlet.code.dto.UserDto;
+import hexlet.code.dto.UserUpdateDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.ResourceVersions;
+import hexlet.code.service.ResourceVersions.Resource;
 import hexlet.code.service.UserServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -32,24 +37,32 @@ import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
 
 @AllArgsConstructor
 @RestController
+@Transactional
 @RequestMapping("${base-url}" + USER_CONTROLLER_PATH)
 public class UserController {
 
     public static final String USER_CONTROLLER_PATH = "/users";
 
-    private static final String ONLY_OWNER_BY_ID = """
-            @userRepository.findById(#id).get().getEmail() == authentication.getName()
-        """;
+    private static final String ONLY_OWNER_BY_ID = "@ownershipChecker.isCurrentUser(#id, authentication)";
 
     private final UserServiceImpl userService;
 
     private final UserRepository userRepository;
 
+    private final ResourceVersions resourceVersions;
+
     @Operation(summary = "Get list of All Users")
-    @ApiResponse(responseCode = "200", description = "List of all Users", content =
-        @Content(mediaType = "application/json", schema = @Schema(implementation = User.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of all Users", content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
+            @ApiResponse(responseCode = "304", description = "Users not modified since the If-None-Match tag")
+    })
     @GetMapping
-    public List<User> getAll() {
+    @Transactional(readOnly = true)
+    public List<User> getAll(@Parameter(hidden = true) WebRequest request) {
+        if (request.checkNotModified(resourceVersions.etag(Resource.USERS))) {
+            return null;
+        }
         return userRepository.findAll();
     }
 
@@ -57,13 +70,19 @@ public class UserController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User found", content =
                 @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
+            @ApiResponse(responseCode = "304", description = "User not modified since the If-None-Match tag"),
             @ApiResponse(responseCode = "404", description = "No Users with such id")
     })
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public User getUserById(
             @Parameter(description = "Id of User to be found", required = true)
-            @PathVariable final Long id) {
+            @PathVariable final Long id,
+            @Parameter(hidden = true) WebRequest request) {
 
+        if (request.checkNotModified(resourceVersions.etag(Resource.USERS))) {
+            return null;
+        }
         return userRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("No users with such id"));
     }
@@ -93,6 +112,7 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User updated", content =
                 @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
             @ApiResponse(responseCode = "422", description = "Data validation failed"),
+            @ApiResponse(responseCode = "403", description = "User can be updated only by himself"),
             @ApiResponse(responseCode = "404", description = "No Users with such id")
     })
     @PutMapping("/{id}")
@@ -101,10 +121,7 @@ public class UserController {
             @Parameter(description = "Id of User to be updated", required = true)
             @PathVariable final Long id,
             @Parameter(description = "User data to save", required = true)
-            @RequestBody @Valid final UserDto dto) {
-
-        final User user = userRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("No users with such id"));
+            @RequestBody @Valid final UserUpdateDto dto) {
 
         return userService.updateUser(id, dto);
     }
@@ -112,6 +129,7 @@ public class UserController {
     @Operation(summary = "Delete User")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User deleted"),
+            @ApiResponse(responseCode = "403", description = "User can be deleted only by himself"),
             @ApiResponse(responseCode = "404", description = "No Users with such id")
     })
     @DeleteMapping("/{id}")
@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    private int index;
+
+    private Long id;
+
+    private int status;
+
+    private String error;
+}
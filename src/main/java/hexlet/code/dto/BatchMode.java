@@ -0,0 +1,14 @@
+package hexlet.code.dto;
+
+public enum BatchMode {
+
+    /**
+     * Nothing is written if any item is rejected.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Valid items are written, rejected ones are only reported.
+     */
+    BEST_EFFORT
+}
@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchResultDto {
+
+    private boolean applied;
+
+    private List<BatchItemResultDto> items;
+}
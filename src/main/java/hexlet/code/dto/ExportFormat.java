@@ -0,0 +1,23 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * RFC 4180 rows with a header line, label names are separated by {@code |}.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+
+    private final String extension;
+}
@@ -0,0 +1,16 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportErrorDto {
+
+    /**
+     * Number of the rejected row, counted from 1 without the CSV header.
+     */
+    private long row;
+
+    private String error;
+}
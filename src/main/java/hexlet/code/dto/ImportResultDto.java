@@ -0,0 +1,20 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportResultDto {
+
+    private long imported;
+
+    private long rejected;
+
+    /**
+     * Errors of the first rejected rows, up to the configured limit.
+     */
+    private List<ImportErrorDto> errors;
+}
@@ -0,0 +1,11 @@
+package hexlet.code.dto;
+
+/**
+ * A cursor or page size a client sent can't be used to page a list.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskBatchUpdateDto extends TaskDto {
+
+    @NotNull
+    private Long id;
+
+    public TaskBatchUpdateDto(Long id, String name, String description, Long executorId, Long taskStatusId,
+                              Set<Long> labelIds) {
+        super(name, description, executorId, taskStatusId, labelIds);
+        this.id = id;
+    }
+}
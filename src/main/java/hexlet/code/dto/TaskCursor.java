@@ -0,0 +1,38 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position in the task list ordered by (createdAt, id).
+ * Clients receive it as an opaque url-safe token and send it back to get the next page.
+ */
+@Getter
+@AllArgsConstructor
+public final class TaskCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final Date createdAt;
+
+    private final Long id;
+
+    public String encode() {
+        final String raw = createdAt.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(final String token) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final String[] parts = raw.split(SEPARATOR, 2);
+            return new TaskCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class TaskEventDto {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, RESET
+    }
+
+    private Type type;
+
+    private Long taskId;
+
+    /**
+     * New values of the changed fields: all fields of a created task, none of a deleted one or of a reset.
+     */
+    private Map<String, Object> changes;
+}
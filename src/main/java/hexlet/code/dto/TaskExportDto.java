@@ -0,0 +1,36 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Flat task row of exports and imports. Related entities are referenced by status name, user email and label names,
+ * so a file exported from one tracker can be imported into another.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExportDto {
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private String taskStatus;
+
+    private String author;
+
+    private String executor;
+
+    private List<String> labels;
+
+    private Date createdAt;
+}
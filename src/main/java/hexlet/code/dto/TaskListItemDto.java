@@ -0,0 +1,51 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only row of the task board. Carries only ids and display names of the related entities.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskListItemDto {
+
+    private Long id;
+
+    private String name;
+
+    private Reference taskStatus;
+
+    private UserReference author;
+
+    private UserReference executor;
+
+    private List<Reference> labels;
+
+    private Date createdAt;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Reference {
+
+        private final Long id;
+
+        private final String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UserReference {
+
+        private final Long id;
+
+        private final String firstName;
+
+        private final String lastName;
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class TaskStatsDto {
+
+    private long total;
+
+    private Map<Long, Long> byStatus;
+
+    private Map<Long, Long> byExecutor;
+
+    private long withoutExecutor;
+
+    private Map<Long, Long> byLabel;
+}
@@ -0,0 +1,33 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+/**
+ * New data of a user, without a password the stored password is kept.
+ */
+@AllArgsConstructor
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserUpdateDto {
+
+    @Email
+    @NotBlank
+    private String email;
+
+    @NotBlank
+    private String firstName;
+
+    @NotBlank
+    private String lastName;
+
+    @Size(min = 3, max = 100)
+    private String password;
+}
@@ -0,0 +1,99 @@
+package hexlet.code.migration;
+
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.CreateSequenceStatement;
+
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates a {@code <table>_seq} sequence for every listed table, started past the current max id.
+ * Hibernate's pooled optimizer hands out the {@code incrementBy} values below each sequence value,
+ * so the first sequence value is placed a whole increment above the max id.
+ */
+public class SeededSequencesChange implements CustomSqlChange {
+
+    private String tables;
+
+    private String incrementBy;
+
+    private String minStartValue = "1";
+
+    public void setTables(String tables) {
+        this.tables = tables;
+    }
+
+    public void setIncrementBy(String incrementBy) {
+        this.incrementBy = incrementBy;
+    }
+
+    public void setMinStartValue(String minStartValue) {
+        this.minStartValue = minStartValue;
+    }
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+        final long increment = Long.parseLong(incrementBy);
+        final long minStart = Long.parseLong(minStartValue);
+        final List<SqlStatement> statements = new ArrayList<>();
+
+        for (String table : tableNames()) {
+            final long start = Math.max(maxId(database, table), minStart - 1) + increment;
+            statements.add(new CreateSequenceStatement(null, null, table + "_seq")
+                    .setStartValue(BigInteger.valueOf(start))
+                    .setIncrementBy(BigInteger.valueOf(increment)));
+        }
+        return statements.toArray(new SqlStatement[0]);
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Sequences created for " + tables;
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        final ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tables", tables);
+        errors.checkRequiredField("incrementBy", incrementBy);
+        return errors;
+    }
+
+    private List<String> tableNames() {
+        return Arrays.stream(tables.split(","))
+                .map(String::trim)
+                .filter(table -> !table.isEmpty())
+                .toList();
+    }
+
+    private long maxId(Database database, String table) throws CustomChangeException {
+        final JdbcConnection connection = (JdbcConnection) database.getConnection();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException | DatabaseException e) {
+            throw new CustomChangeException("Unable to read max id of " + table, e);
+        }
+    }
+}
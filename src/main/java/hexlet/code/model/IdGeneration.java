@@ -0,0 +1,12 @@
+package hexlet.code.model;
+
+public final class IdGeneration {
+
+    /**
+     * Ids reserved per sequence call. Must match the increment of the {@code *_seq} sequences in the changelog.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -1,9 +1,11 @@
 package hexlet.code.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.Entity;
@@ -13,9 +15,14 @@ import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.util.Date;
@@ -27,10 +34,30 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Task.WITH_RELATIONS_GRAPH, attributeNodes = {
+                @NamedAttributeNode("taskStatus"),
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode("executor")
+        }),
+        @NamedEntityGraph(name = Task.WITH_LABELS_GRAPH, attributeNodes = {
+                @NamedAttributeNode("taskStatus"),
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode("executor"),
+                @NamedAttributeNode("labels")
+        })
+})
 public class Task {
 
+    public static final String WITH_RELATIONS_GRAPH = "Task.withRelations";
+
+    public static final String WITH_LABELS_GRAPH = "Task.withLabels";
+
+    private static final int LABELS_BATCH_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -52,9 +79,14 @@ public class Task {
     private User executor;
 
     @ManyToMany
+    @BatchSize(size = LABELS_BATCH_SIZE)
     private List<Label> labels;
 
     @CreationTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
+
+    @Version
+    @JsonIgnore
+    private Long version;
 }
@@ -1,20 +1,84 @@
 package hexlet.code.repository;
 
-import hexlet.code.model.Label;
+import com.querydsl.core.types.Predicate;
 import hexlet.code.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task>,
+        TaskRepositoryCustom {
 
-    Optional<Task> findFirst1ByAuthorIdOrExecutorId(Long authorId, Long executorId);
+    @Override
+    @EntityGraph(Task.WITH_LABELS_GRAPH)
+    Optional<Task> findById(Long id);
 
-    Optional<Task> findFirst1ByTaskStatusId(Long taskStatusId);
+    @Override
+    @EntityGraph(Task.WITH_RELATIONS_GRAPH)
+    Iterable<Task> findAll(Predicate predicate);
 
-    List<Task> findByLabels(Label label);
+    @Query("select t.author.id from Task t where t.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    boolean existsByAuthorId(Long authorId);
+
+    boolean existsByExecutorId(Long executorId);
+
+    boolean existsByTaskStatusId(Long taskStatusId);
+
+    boolean existsByLabelsId(Long labelId);
+
+    @Query("select t.taskStatus.id as groupId, count(t) as taskCount from Task t group by t.taskStatus.id")
+    List<GroupCount> countByStatus();
+
+    @Query("select e.id as groupId, count(t) as taskCount from Task t left join t.executor e group by e.id")
+    List<GroupCount> countByExecutor();
+
+    @Query("select l.id as groupId, count(t) as taskCount from Task t join t.labels l group by l.id")
+    List<GroupCount> countByLabel();
+
+    List<SearchableTask> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Changes on every insert, update and delete made through the application: ids only grow and every update
+     * bumps a version.
+     */
+    @Query("select count(t) as taskCount, max(t.id) as maxId, sum(t.version) as versionSum from Task t")
+    TableState getTableState();
+
+    interface GroupCount {
+
+        Long getGroupId();
+
+        long getTaskCount();
+    }
+
+    interface TableState {
+
+        long getTaskCount();
+
+        Long getMaxId();
+
+        Long getVersionSum();
+    }
+
+    interface SearchableTask {
+
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+    }
 }
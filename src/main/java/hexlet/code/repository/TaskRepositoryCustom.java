@@ -0,0 +1,23 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskExportDto;
+import hexlet.code.dto.TaskListItemDto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page of task list rows ordered by (createdAt, id), starting right after the given cursor.
+     */
+    List<TaskListItemDto> findPage(Predicate predicate, TaskCursor after, int limit);
+
+    /**
+     * Reads matching tasks in id order through a forward-only cursor and hands them over in chunks of the fetch size.
+     * A chunk is not retained after the consumer returns, so memory doesn't depend on the number of tasks.
+     */
+    void forEachExportChunk(Predicate predicate, int fetchSize, Consumer<List<TaskExportDto>> consumer);
+}
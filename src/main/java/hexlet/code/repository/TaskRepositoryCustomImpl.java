@@ -0,0 +1,178 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskExportDto;
+import hexlet.code.dto.TaskListItemDto;
+import hexlet.code.dto.TaskListItemDto.Reference;
+import hexlet.code.dto.TaskListItemDto.UserReference;
+import hexlet.code.model.QLabel;
+import hexlet.code.model.QTask;
+import hexlet.code.model.QTaskStatus;
+import hexlet.code.model.QUser;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final QTask TASK = QTask.task;
+
+    private static final QTaskStatus STATUS = QTaskStatus.taskStatus;
+
+    private static final QUser AUTHOR = new QUser("author");
+
+    private static final QUser EXECUTOR = new QUser("executor");
+
+    private static final QLabel LABEL = QLabel.label;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskListItemDto> findPage(Predicate predicate, TaskCursor after, int limit) {
+        final BooleanBuilder where = new BooleanBuilder().and(predicate);
+
+        if (after != null) {
+            where.and(TASK.createdAt.gt(after.getCreatedAt())
+                    .or(TASK.createdAt.eq(after.getCreatedAt()).and(TASK.id.gt(after.getId()))));
+        }
+
+        final JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+        final List<TaskListItemDto> tasks = queryFactory
+                .select(TASK.id, TASK.name, TASK.createdAt,
+                        STATUS.id, STATUS.name,
+                        AUTHOR.id, AUTHOR.firstName, AUTHOR.lastName,
+                        EXECUTOR.id, EXECUTOR.firstName, EXECUTOR.lastName)
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR)
+                .where(where)
+                .orderBy(TASK.createdAt.asc(), TASK.id.asc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(this::toListItem)
+                .collect(Collectors.toList());
+
+        fetchLabels(queryFactory, tasks);
+        return tasks;
+    }
+
+    @Override
+    public void forEachExportChunk(Predicate predicate, int fetchSize, Consumer<List<TaskExportDto>> consumer) {
+        final JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+        final Query query = queryFactory
+                .select(TASK.id, TASK.name, TASK.description, STATUS.name, AUTHOR.email, EXECUTOR.email, TASK.createdAt)
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR)
+                .where(new BooleanBuilder().and(predicate))
+                .orderBy(TASK.id.asc())
+                .createQuery();
+
+        try (ScrollableResults rows = query.unwrap(org.hibernate.query.Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            final List<TaskExportDto> chunk = new ArrayList<>(fetchSize);
+            while (rows.next()) {
+                chunk.add(toExportRow(rows.get()));
+                if (chunk.size() == fetchSize) {
+                    emitExportChunk(queryFactory, chunk, consumer);
+                }
+            }
+            emitExportChunk(queryFactory, chunk, consumer);
+        }
+    }
+
+    private TaskExportDto toExportRow(Object[] row) {
+        return new TaskExportDto(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                new ArrayList<>(),
+                (Date) row[6]
+        );
+    }
+
+    /**
+     * Adds label names to the chunk with one query, hands it over and drops everything the chunk loaded.
+     */
+    private void emitExportChunk(JPAQueryFactory queryFactory, List<TaskExportDto> chunk,
+                                 Consumer<List<TaskExportDto>> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        final Map<Long, TaskExportDto> tasksById = chunk.stream()
+                .collect(Collectors.toMap(TaskExportDto::getId, Function.identity()));
+
+        queryFactory
+                .select(TASK.id, LABEL.name)
+                .from(TASK)
+                .join(TASK.labels, LABEL)
+                .where(TASK.id.in(tasksById.keySet()))
+                .orderBy(LABEL.id.asc())
+                .fetch()
+                .forEach(row -> tasksById.get(row.get(TASK.id)).getLabels().add(row.get(LABEL.name)));
+
+        consumer.accept(chunk);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private TaskListItemDto toListItem(Tuple row) {
+        final UserReference executor = row.get(EXECUTOR.id) == null
+                ? null
+                : new UserReference(row.get(EXECUTOR.id), row.get(EXECUTOR.firstName), row.get(EXECUTOR.lastName));
+
+        return new TaskListItemDto(
+                row.get(TASK.id),
+                row.get(TASK.name),
+                new Reference(row.get(STATUS.id), row.get(STATUS.name)),
+                new UserReference(row.get(AUTHOR.id), row.get(AUTHOR.firstName), row.get(AUTHOR.lastName)),
+                executor,
+                new ArrayList<>(),
+                row.get(TASK.createdAt)
+        );
+    }
+
+    /**
+     * Fills labels of the whole page with a single query over the join table.
+     */
+    private void fetchLabels(JPAQueryFactory queryFactory, List<TaskListItemDto> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        final Map<Long, TaskListItemDto> tasksById = tasks.stream()
+                .collect(Collectors.toMap(TaskListItemDto::getId, Function.identity()));
+
+        queryFactory
+                .select(TASK.id, LABEL.id, LABEL.name)
+                .from(TASK)
+                .join(TASK.labels, LABEL)
+                .where(TASK.id.in(tasksById.keySet()))
+                .orderBy(LABEL.id.asc())
+                .fetch()
+                .forEach(row -> tasksById.get(row.get(TASK.id)).getLabels()
+                        .add(new Reference(row.get(LABEL.id), row.get(LABEL.name))));
+    }
+}
@@ -2,11 +2,23 @@ package hexlet.code.repository;
 
 import hexlet.code.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("select u.id as id, u.email as email from User u")
+    List<UserEmail> findAllEmails();
+
+    interface UserEmail {
+
+        Long getId();
+
+        String getEmail();
+    }
 }
@@ -1,6 +1,6 @@
 package hexlet.code.service;
 
-import hexlet.code.model.User;
+import hexlet.code.config.security.UserPrincipal;
 
 import java.util.Optional;
 
@@ -8,5 +8,5 @@ public interface AuthenticationService {
 
     String login(String username, String password);
 
-    Optional<User> findByToken(String token);
+    Optional<UserPrincipal> findByToken(String token);
 }
@@ -0,0 +1,11 @@
+package hexlet.code.service;
+
+/**
+ * A batch is empty or larger than a batch request may be.
+ */
+public class BatchSizeException extends IllegalArgumentException {
+
+    public BatchSizeException(String message) {
+        super(message);
+    }
+}
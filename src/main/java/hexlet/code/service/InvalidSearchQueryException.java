@@ -0,0 +1,11 @@
+package hexlet.code.service;
+
+/**
+ * A search query has no words to look for or more than the index searches at once.
+ */
+public class InvalidSearchQueryException extends IllegalArgumentException {
+
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
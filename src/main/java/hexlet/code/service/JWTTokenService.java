@@ -1,16 +1,23 @@
 package hexlet.code.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.CompressionCodecs;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.impl.compression.GzipCompressionCodec;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.jsonwebtoken.SignatureAlgorithm.HS256;
 
@@ -20,36 +27,48 @@ public class JWTTokenService implements TokenService, Clock {
     private final SecretKey secretKey;
     private final String issuer;
     private final Long expirationSec;
-    private final Long clockSkewSec;
+    private final boolean compress;
+    private final JwtParser parser;
+    private final Cache<String, Map<String, Object>> verifiedTokens;
 
     public JWTTokenService(@Value("${jwt.issuer:taskMan}") final String issuer,
                            @Value("${jwt.expiration-sec:86400}") final Long expirationSec,
-                           @Value("${jwt.clock-skew-sec:300}") final Long clockSkewSec) {
+                           @Value("${jwt.clock-skew-sec:300}") final Long clockSkewSec,
+                           @Value("${jwt.compress:false}") final boolean compress,
+                           @Value("${jwt.verified-cache.max-size:0}") final long verifiedCacheSize) {
         this.secretKey = Keys.secretKeyFor(HS256);
         this.issuer = issuer;
         this.expirationSec = expirationSec;
-        this.clockSkewSec = clockSkewSec;
+        this.compress = compress;
+        // the built parser is immutable and thread-safe, so it is shared by all requests
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(issuer)
+                .setClock(this)
+                .setAllowedClockSkewSeconds(clockSkewSec)
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(verifiedCacheSize).expireAfter(new ClaimsExpiry()).build()
+                : null;
     }
 
     @Override
     public String getToken(final Map<String, Object> attributes) {
-        return Jwts.builder()
+        final JwtBuilder builder = Jwts.builder()
                 .signWith(secretKey)
-                .compressWith(new GzipCompressionCodec())
-                .setClaims(createClaims(attributes, expirationSec))
-                .compact();
+                .setClaims(createClaims(attributes, expirationSec));
+        if (compress) {
+            builder.compressWith(CompressionCodecs.GZIP);
+        }
+        return builder.compact();
     }
 
     @Override
     public Map<String, Object> parse(final String token) {
-        return Jwts.parserBuilder()
-                .requireIssuer(issuer)
-                .setClock(this)
-                .setAllowedClockSkewSeconds(clockSkewSec)
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (verifiedTokens == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        return verifiedTokens.get(token, key -> Collections.unmodifiableMap(parser.parseClaimsJws(key).getBody()));
     }
 
     @Override
@@ -67,4 +86,32 @@ public class JWTTokenService implements TokenService, Clock {
         }
         return claims;
     }
+
+    /**
+     * Verified tokens are forgotten once they expire, tokens without expiration are kept until evicted by size.
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Map<String, Object>> {
+
+        @Override
+        public long expireAfterCreate(String token, Map<String, Object> claims, long currentTime) {
+            final Object expiration = claims.get(Claims.EXPIRATION);
+            if (!(expiration instanceof Number seconds)) {
+                return Long.MAX_VALUE;
+            }
+            final long untilExpiration = TimeUnit.SECONDS.toMillis(seconds.longValue()) - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(untilExpiration, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Map<String, Object> claims, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Map<String, Object> claims, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
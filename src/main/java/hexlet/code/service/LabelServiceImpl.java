@@ -2,14 +2,13 @@ package hexlet.code.service;
 
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
-import hexlet.code.model.Task;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.ResourceVersions.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
@@ -21,12 +20,17 @@ public class LabelServiceImpl implements LabelService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Override
     public Label createLabel(LabelDto labelData) {
         final Label label = new Label();
 
         label.setName(labelData.getName());
-        return labelRepository.save(label);
+        final Label created = labelRepository.save(label);
+        resourceVersions.bump(Resource.LABELS);
+        return created;
     }
 
     @Override
@@ -34,18 +38,20 @@ public class LabelServiceImpl implements LabelService {
         final Label label = labelRepository.getById(id);
 
         label.setName(labelData.getName());
-        return labelRepository.save(label);
+        final Label updated = labelRepository.save(label);
+        resourceVersions.bump(Resource.LABELS);
+        return updated;
     }
 
     @Override
     public void deleteLabel(Long id) {
-        final Label label = labelRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("No labels with such id"));
-        List<Task> tasksWithCurrentLabel = taskRepository.findByLabels(label);
-
-        if (!tasksWithCurrentLabel.isEmpty()) {
+        if (!labelRepository.existsById(id)) {
+            throw new NoSuchElementException("No labels with such id");
+        }
+        if (taskRepository.existsByLabelsId(id)) {
             throw new DataIntegrityViolationException("Unable to delete the label associated with an existing task");
         }
         labelRepository.deleteById(id);
+        resourceVersions.bump(Resource.LABELS);
     }
 }
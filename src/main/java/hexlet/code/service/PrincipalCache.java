@@ -0,0 +1,108 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import hexlet.code.config.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of principals resolved from tokens.
+ * An entry never outlives its token and is dropped as soon as the user is changed or deleted.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, Entry> principals;
+
+    private final long ttlNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") final long maxSize,
+                          @Value("${jwt.principal-cache.ttl-sec:300}") final long ttlSec) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSec);
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    public Optional<UserPrincipal> get(final String token) {
+        return Optional.ofNullable(principals.getIfPresent(token)).map(Entry::principal);
+    }
+
+    /**
+     * Generation to pass to {@link #put}: loads that started before an eviction must not be cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(final String token, final UserPrincipal principal, final Date expiresAt, final long loadedAt) {
+        long entryTtl = ttlNanos;
+        if (expiresAt != null) {
+            final long untilExpiration = expiresAt.getTime() - System.currentTimeMillis();
+            entryTtl = Math.min(entryTtl, TimeUnit.MILLISECONDS.toNanos(untilExpiration));
+        }
+        if (entryTtl <= 0 || generation.get() != loadedAt) {
+            return;
+        }
+        principals.put(token, new Entry(principal, entryTtl));
+    }
+
+    /**
+     * Drops the user's principals now and again after commit, a token resolved while the change was pending
+     * would cache the old row.
+     */
+    public void evictUser(final Long userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(final Long userId) {
+        generation.incrementAndGet();
+        principals.asMap().values().removeIf(entry -> entry.principal().getId().equals(userId));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        principals.invalidateAll();
+    }
+
+    private record Entry(UserPrincipal principal, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String token, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
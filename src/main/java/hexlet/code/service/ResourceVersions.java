@@ -0,0 +1,67 @@
+package hexlet.code.service;
+
+import hexlet.code.config.replica.ReplicaRoutingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory version counter per table, bumped by every service write, used to build ETags without a query.
+ * The version is read before the data, and a write inside a transaction bumps it again after commit,
+ * so a tag read while the write was pending is never kept for the committed data.
+ * Counters live in this node only, the epoch makes tags of a previous run never match.
+ * Counters follow the primary, so a transaction that takes a tag reads its data from there.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        TASKS, TASK_STATUSES, LABELS, USERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    public void bump(final Resource resource) {
+        final AtomicLong version = versions.get(resource);
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Tag of a response built from the given tables, to be taken before the transaction reads them.
+     */
+    public String etag(final Resource... resources) {
+        ReplicaRoutingDataSource.readFromPrimary();
+        return Stream.of(resources)
+                .map(resource -> Long.toString(versions.get(resource).get(), Character.MAX_RADIX))
+                .collect(Collectors.joining(".", epoch + "-", ""));
+    }
+
+    /**
+     * Tag of a single row with its own version, combined with the tag of the tables it embeds.
+     */
+    public String etag(final long rowVersion, final String embeddedTag) {
+        return rowVersion + "-" + embeddedTag;
+    }
+}
@@ -0,0 +1,67 @@
+package hexlet.code.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Row per running HTTP server, refreshed on an interval. ETags, task stats and the search index are kept in the
+ * memory of each server, so tools writing to the database directly check here that no server would miss it.
+ * A server that stopped without removing its row counts as gone after a few missed beats.
+ */
+@Component
+public class ServerHeartbeat {
+
+    private static final int MISSED_BEATS = 3;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${heartbeat.interval-ms:10000}")
+    private long intervalMs;
+
+    private volatile boolean serving;
+
+    @EventListener
+    public void serverStarted(WebServerInitializedEvent event) {
+        serving = true;
+        beat();
+    }
+
+    @Scheduled(fixedDelayString = "${heartbeat.interval-ms:10000}")
+    public void beat() {
+        if (!serving) {
+            return;
+        }
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (jdbcTemplate.update("update server_heartbeats set beat_at = ? where instance_id = ?", now, instanceId)
+                == 0) {
+            jdbcTemplate.update("insert into server_heartbeats (instance_id, beat_at) values (?, ?)", instanceId, now);
+        }
+    }
+
+    @PreDestroy
+    public void serverStopped() {
+        if (serving) {
+            serving = false;
+            jdbcTemplate.update("delete from server_heartbeats where instance_id = ?", instanceId);
+        }
+    }
+
+    public boolean isAnyServerRunning() {
+        final Timestamp since = new Timestamp(System.currentTimeMillis() - MISSED_BEATS * intervalMs);
+        final Integer servers = jdbcTemplate.queryForObject(
+                "select count(*) from server_heartbeats where beat_at > ?", Integer.class, since);
+        return servers != null && servers > 0;
+    }
+}
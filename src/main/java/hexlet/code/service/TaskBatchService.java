@@ -0,0 +1,15 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.BatchMode;
+import hexlet.code.dto.BatchResultDto;
+import hexlet.code.dto.TaskBatchUpdateDto;
+import hexlet.code.dto.TaskDto;
+
+import java.util.List;
+
+public interface TaskBatchService {
+
+    BatchResultDto createTasks(List<TaskDto> tasksData, BatchMode mode);
+
+    BatchResultDto updateTasks(List<TaskBatchUpdateDto> tasksData, BatchMode mode);
+}
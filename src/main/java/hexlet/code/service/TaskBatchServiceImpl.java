@@ -0,0 +1,273 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.BatchItemResultDto;
+import hexlet.code.dto.BatchMode;
+import hexlet.code.dto.BatchResultDto;
+import hexlet.code.dto.TaskBatchUpdateDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.ResourceVersions.Resource;
+import hexlet.code.service.TaskStatsService.Groups;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Creates and updates tasks in bulk. Statuses, labels and executors of the whole batch are resolved
+ * with one query each, rows are written through the persistence context and flushed in chunks.
+ */
+@Service
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${tasks.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${tasks.batch.flush-size:100}")
+    private int flushSize;
+
+    @Override
+    @Transactional
+    public BatchResultDto createTasks(List<TaskDto> tasksData, BatchMode mode) {
+        checkBatchSize(tasksData);
+        final References references = new References(tasksData);
+        final User author = userService.getCurrentUser();
+
+        final List<BatchItemResultDto> rejected = new ArrayList<>();
+        final Map<Integer, Task> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < tasksData.size(); index++) {
+            final TaskDto taskData = tasksData.get(index);
+            final String error = validate(taskData, references);
+            if (error != null) {
+                rejected.add(new BatchItemResultDto(index, null, UNPROCESSABLE_ENTITY.value(), error));
+                continue;
+            }
+            final Task task = new Task();
+            task.setAuthor(author);
+            references.fill(task, taskData);
+            accepted.put(index, task);
+        }
+
+        if (mode == BatchMode.ALL_OR_NOTHING && !rejected.isEmpty()) {
+            return new BatchResultDto(false, rejected);
+        }
+
+        int pending = 0;
+        for (Task task : accepted.values()) {
+            entityManager.persist(task);
+            taskStatsService.countChange(null, Groups.of(task));
+            taskEventService.taskCreated(task);
+            if (++pending % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        taskSearchService.index(accepted.values());
+        resourceVersions.bump(Resource.TASKS);
+
+        final List<BatchItemResultDto> results = new ArrayList<>(rejected);
+        accepted.forEach((index, task) ->
+                results.add(new BatchItemResultDto(index, task.getId(), CREATED.value(), null)));
+        return new BatchResultDto(true, sortByIndex(results));
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDto updateTasks(List<TaskBatchUpdateDto> tasksData, BatchMode mode) {
+        checkBatchSize(tasksData);
+        final References references = new References(tasksData);
+        final Long currentUserId = userService.getCurrentUser().getId();
+
+        final Set<Long> ids = tasksData.stream()
+                .map(TaskBatchUpdateDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Map<Long, Task> tasks = new LinkedHashMap<>();
+        if (!ids.isEmpty()) {
+            taskRepository.findAll(QTask.task.id.in(ids)).forEach(task -> tasks.put(task.getId(), task));
+        }
+
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<TaskBatchUpdateDto, Task> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < tasksData.size(); index++) {
+            final TaskBatchUpdateDto taskData = tasksData.get(index);
+            final String error = validate(taskData, references);
+            final Task task = tasks.get(taskData.getId());
+
+            if (error != null) {
+                results.add(new BatchItemResultDto(index, taskData.getId(), UNPROCESSABLE_ENTITY.value(), error));
+            } else if (task == null) {
+                results.add(new BatchItemResultDto(index, taskData.getId(), NOT_FOUND.value(),
+                        "No Tasks with such id"));
+            } else if (!task.getAuthor().getId().equals(currentUserId)) {
+                results.add(new BatchItemResultDto(index, task.getId(), FORBIDDEN.value(),
+                        "Task can be updated only by its author"));
+            } else {
+                accepted.put(taskData, task);
+                results.add(new BatchItemResultDto(index, task.getId(), OK.value(), null));
+            }
+        }
+
+        if (mode == BatchMode.ALL_OR_NOTHING && accepted.size() < tasksData.size()) {
+            return new BatchResultDto(false, results.stream()
+                    .filter(result -> result.getStatus() != OK.value())
+                    .collect(Collectors.toList()));
+        }
+
+        accepted.forEach((taskData, task) -> {
+            final Groups before = Groups.of(task);
+            final Map<String, Object> fieldsBefore = TaskEventService.fieldsOf(task);
+            references.fill(task, taskData);
+            taskStatsService.countChange(before, Groups.of(task));
+            taskEventService.taskUpdated(fieldsBefore, task);
+        });
+        entityManager.flush();
+        taskSearchService.index(accepted.values());
+        resourceVersions.bump(Resource.TASKS);
+        return new BatchResultDto(true, results);
+    }
+
+    private void checkBatchSize(Collection<?> tasksData) {
+        if (tasksData.isEmpty() || tasksData.size() > maxBatchSize) {
+            throw new BatchSizeException("Batch must contain from 1 to " + maxBatchSize + " tasks");
+        }
+    }
+
+    private String validate(TaskDto taskData, References references) {
+        final Set<ConstraintViolation<TaskDto>> violations = validator.validate(taskData);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return references.check(taskData);
+    }
+
+    private List<BatchItemResultDto> sortByIndex(List<BatchItemResultDto> results) {
+        results.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+        return results;
+    }
+
+    /**
+     * Statuses, labels and executors referenced by a batch, each kind loaded with a single query.
+     */
+    private final class References {
+
+        private final Map<Long, TaskStatus> statuses;
+
+        private final Map<Long, Label> labels;
+
+        private final Map<Long, User> executors;
+
+        References(List<? extends TaskDto> tasksData) {
+            statuses = byId(statusRepository.findAllById(collect(tasksData, TaskDto::getTaskStatusId)),
+                    TaskStatus::getId);
+            labels = byId(labelRepository.findAllById(tasksData.stream()
+                    .map(TaskDto::getLabelIds)
+                    .filter(Objects::nonNull)
+                    .flatMap(Set::stream)
+                    .collect(Collectors.toSet())), Label::getId);
+            executors = byId(userRepository.findAllById(collect(tasksData, TaskDto::getExecutorId)), User::getId);
+        }
+
+        String check(TaskDto taskData) {
+            if (!statuses.containsKey(taskData.getTaskStatusId())) {
+                return "No statuses with id " + taskData.getTaskStatusId();
+            }
+            if (taskData.getExecutorId() != null && !executors.containsKey(taskData.getExecutorId())) {
+                return "No users with id " + taskData.getExecutorId();
+            }
+            if (taskData.getLabelIds() != null) {
+                for (Long labelId : taskData.getLabelIds()) {
+                    if (!labels.containsKey(labelId)) {
+                        return "No labels with id " + labelId;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void fill(Task task, TaskDto taskData) {
+            final Set<Long> labelIds = taskData.getLabelIds() == null ? Set.of() : taskData.getLabelIds();
+
+            task.setName(taskData.getName());
+            task.setDescription(taskData.getDescription());
+            task.setTaskStatus(statuses.get(taskData.getTaskStatusId()));
+            if (taskData.getExecutorId() != null) {
+                task.setExecutor(executors.get(taskData.getExecutorId()));
+            }
+            task.setLabels(labelIds.stream().map(labels::get).collect(Collectors.toList()));
+        }
+
+        private Set<Long> collect(List<? extends TaskDto> tasksData, Function<TaskDto, Long> getter) {
+            return tasksData.stream().map(getter).filter(Objects::nonNull).collect(Collectors.toSet());
+        }
+
+        private <T> Map<Long, T> byId(List<T> entities, Function<T, Long> getId) {
+            return entities.stream().collect(Collectors.toMap(getId, Function.identity()));
+        }
+    }
+}
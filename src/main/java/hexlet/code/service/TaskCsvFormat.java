@@ -0,0 +1,181 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskExportDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RFC 4180 layout of {@link TaskExportDto} rows shared by export and import: a header line, then one record per task,
+ * with label names joined by {@code |} and the creation time as an ISO-8601 instant.
+ * A {@code |} or {@code \} within a label name is escaped with {@code \}.
+ */
+public final class TaskCsvFormat {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "name", "description", "taskStatus", "author", "executor", "labels", "createdAt");
+
+    private static final char LABEL_SEPARATOR = '|';
+
+    private static final char LABEL_ESCAPE = '\\';
+
+    private TaskCsvFormat() {
+    }
+
+    public static void writeHeader(Writer writer) throws IOException {
+        writeRecord(writer, COLUMNS);
+    }
+
+    public static void writeRow(Writer writer, TaskExportDto task) throws IOException {
+        writeRecord(writer, Arrays.asList(
+                task.getId().toString(),
+                task.getName(),
+                task.getDescription(),
+                task.getTaskStatus(),
+                task.getAuthor(),
+                task.getExecutor(),
+                joinLabels(task.getLabels()),
+                task.getCreatedAt() == null ? null : task.getCreatedAt().toInstant().toString()));
+    }
+
+    /**
+     * Maps a record to a row by the column names of the header, empty values are read as null.
+     *
+     * @throws IllegalArgumentException if the record doesn't match the header or a value can't be parsed
+     */
+    public static TaskExportDto toRow(List<String> header, List<String> record) {
+        if (record.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " values, found " + record.size());
+        }
+        final Map<String, Integer> columns = header.stream()
+                .collect(Collectors.toMap(Function.identity(), header::indexOf, (first, second) -> first));
+        final Function<String, String> value = column -> {
+            final Integer index = columns.get(column);
+            return index == null || record.get(index).isEmpty() ? null : record.get(index);
+        };
+
+        final String labels = value.apply("labels");
+        final String createdAt = value.apply("createdAt");
+        return new TaskExportDto(
+                null,
+                value.apply("name"),
+                value.apply("description"),
+                value.apply("taskStatus"),
+                value.apply("author"),
+                value.apply("executor"),
+                labels == null ? List.of() : splitLabels(labels),
+                createdAt == null ? null : Date.from(Instant.parse(createdAt)));
+    }
+
+    /**
+     * Reads the next record, quoted values may span lines.
+     *
+     * @return values of the record or null at the end of the input
+     * @throws IllegalArgumentException if the input ends inside a quoted value
+     */
+    public static List<String> readRecord(Reader reader) throws IOException {
+        int next = reader.read();
+        if (next == -1) {
+            return null;
+        }
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (next == -1) {
+                    throw new IllegalArgumentException("Quoted value is not closed");
+                }
+                if (next == '"') {
+                    next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                value.append((char) next);
+            } else if (next == '"' && value.length() == 0) {
+                quoted = true;
+            } else if (next == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (next == '\n' || next == -1) {
+                values.add(value.toString());
+                return values;
+            } else if (next != '\r') {
+                value.append((char) next);
+            }
+            next = reader.read();
+        }
+    }
+
+    private static String joinLabels(List<String> labels) {
+        final StringBuilder joined = new StringBuilder();
+        for (String label : labels) {
+            if (joined.length() > 0) {
+                joined.append(LABEL_SEPARATOR);
+            }
+            for (char c : label.toCharArray()) {
+                if (c == LABEL_SEPARATOR || c == LABEL_ESCAPE) {
+                    joined.append(LABEL_ESCAPE);
+                }
+                joined.append(c);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static List<String> splitLabels(String labels) {
+        final List<String> split = new ArrayList<>();
+        final StringBuilder label = new StringBuilder();
+        for (int index = 0; index < labels.length(); index++) {
+            final char c = labels.charAt(index);
+            if (c == LABEL_ESCAPE && index + 1 < labels.length()) {
+                index++;
+                label.append(labels.charAt(index));
+            } else if (c == LABEL_SEPARATOR) {
+                addLabel(split, label);
+            } else {
+                label.append(c);
+            }
+        }
+        addLabel(split, label);
+        return split;
+    }
+
+    private static void addLabel(List<String> labels, StringBuilder label) {
+        if (label.length() > 0) {
+            labels.add(label.toString());
+            label.setLength(0);
+        }
+    }
+
+    private static void writeRecord(Writer writer, List<String> values) throws IOException {
+        for (int column = 0; column < values.size(); column++) {
+            if (column > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values.get(column)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
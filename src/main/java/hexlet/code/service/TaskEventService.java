@@ -0,0 +1,48 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public interface TaskEventService {
+
+    /**
+     * Opens a stream of task events published from now on.
+     *
+     * @param lastEventId id of the last event the client received, the events after it are replayed first;
+     *                    a "reset" event is sent instead when they are no longer kept
+     */
+    SseEmitter subscribe(String lastEventId);
+
+    void taskCreated(Task task);
+
+    /**
+     * @param before fields of the task before the change, taken with {@link #fieldsOf(Task)}
+     */
+    void taskUpdated(Map<String, Object> before, Task task);
+
+    void taskDeleted(Long taskId);
+
+    /**
+     * Tells clients to reload the tasks, for changes too many to send one by one like a chunk of imported rows.
+     */
+    void tasksReset();
+
+    static Map<String, Object> fieldsOf(Task task) {
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", task.getName());
+        fields.put("description", task.getDescription());
+        fields.put("taskStatusId", task.getTaskStatus().getId());
+        fields.put("executorId", task.getExecutor() == null ? null : task.getExecutor().getId());
+        fields.put("labelIds", task.getLabels() == null ? List.of() : task.getLabels().stream()
+                .map(Label::getId)
+                .sorted()
+                .collect(Collectors.toList()));
+        return fields;
+    }
+}
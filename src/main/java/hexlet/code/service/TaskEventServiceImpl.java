@@ -0,0 +1,249 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskEventDto.Type;
+import hexlet.code.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Fans committed task changes out to Server-Sent Event streams.
+ * Events are numbered in publishing order and the latest ones are kept for clients resuming with Last-Event-ID.
+ * Ids start from the current time in microseconds, so ids of a previous run are older than any id of this one
+ * and such clients get a reset. Every connection has its own bounded queue drained by a sender thread,
+ * a client that falls behind by a full queue is disconnected and resumes from its last event.
+ */
+@Slf4j
+@Service
+public class TaskEventServiceImpl implements TaskEventService, DisposableBean {
+
+    private static final Pattern EVENT_ID = Pattern.compile("\\d{1,18}");
+
+    private static final Supplier<SseEventBuilder> HEARTBEAT = () -> SseEmitter.event().comment("heartbeat");
+
+    private static final long MICROS_PER_MILLI = 1000;
+
+    private final int historySize;
+
+    private final int bufferSize;
+
+    private final long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService sender = Executors.newCachedThreadPool(senderThreadFactory());
+
+    private final Deque<Event> history = new ArrayDeque<>();
+
+    private long lastEventId = System.currentTimeMillis() * MICROS_PER_MILLI;
+
+    /**
+     * Id of the newest event no longer kept, clients that received it or an older one can't resume.
+     */
+    private long evictedEventId = lastEventId;
+
+    public TaskEventServiceImpl(@Value("${tasks.events.history-size:1000}") final int historySize,
+                                @Value("${tasks.events.buffer-size:256}") final int bufferSize,
+                                @Value("${tasks.events.timeout-ms:1800000}") final long timeoutMs) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastSeenEventId) {
+        final SseEmitter emitter = new SseEmitter(timeoutMs);
+        final Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (history) {
+            if (lastSeenEventId != null) {
+                final long lastSeen = EVENT_ID.matcher(lastSeenEventId).matches()
+                        ? Long.parseLong(lastSeenEventId)
+                        : -1;
+                // more missed events than the queue holds would disconnect the client again right away
+                if (lastSeen < evictedEventId || lastSeen > lastEventId || lastEventId - lastSeen >= bufferSize) {
+                    final String resumeId = Long.toString(lastEventId);
+                    subscriber.offer(() -> SseEmitter.event().id(resumeId).name("reset").data(""));
+                } else {
+                    history.stream()
+                            .filter(event -> event.id() > lastSeen)
+                            .forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void taskCreated(Task task) {
+        publish(new TaskEventDto(Type.CREATED, task.getId(), TaskEventService.fieldsOf(task)));
+    }
+
+    @Override
+    public void taskUpdated(Map<String, Object> before, Task task) {
+        final Map<String, Object> changes = new LinkedHashMap<>();
+        TaskEventService.fieldsOf(task).forEach((field, value) -> {
+            if (!Objects.equals(before.get(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        if (!changes.isEmpty()) {
+            publish(new TaskEventDto(Type.UPDATED, task.getId(), changes));
+        }
+    }
+
+    @Override
+    public void taskDeleted(Long taskId) {
+        publish(new TaskEventDto(Type.DELETED, taskId, Map.of()));
+    }
+
+    @Override
+    public void tasksReset() {
+        publish(new TaskEventDto(Type.RESET, null, Map.of()));
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdownNow();
+    }
+
+    /**
+     * Publishes the event once the writing transaction commits, so clients never see a rolled back change.
+     */
+    private void publish(TaskEventDto data) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(data);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(data);
+            }
+        });
+    }
+
+    private void append(TaskEventDto data) {
+        synchronized (history) {
+            lastEventId++;
+            final Event event = new Event(lastEventId, data);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                evictedEventId = history.removeFirst().id();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private static CustomizableThreadFactory senderThreadFactory() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-events-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private record Event(long id, TaskEventDto data) implements Supplier<SseEventBuilder> {
+
+        @Override
+        public SseEventBuilder get() {
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(data.getType().name().toLowerCase(Locale.ROOT))
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Supplier<SseEventBuilder>> queue = new ArrayBlockingQueue<>(bufferSize);
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Supplier<SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Closing a task event stream that fell {} events behind", bufferSize);
+                close();
+                return;
+            }
+            scheduleSending();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+
+        private void scheduleSending() {
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                Supplier<SseEventBuilder> event = queue.poll();
+                while (event != null && !closed) {
+                    emitter.send(event.get());
+                    event = queue.poll();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away, the container reports it to the emitter as well
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                sending.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleSending();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package hexlet.code.service;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+
+    void export(Predicate predicate, ExportFormat format, OutputStream out) throws IOException;
+}
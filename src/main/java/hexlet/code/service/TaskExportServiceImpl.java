@@ -0,0 +1,74 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.ExportFormat;
+import hexlet.code.dto.TaskExportDto;
+import hexlet.code.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes tasks straight from a database cursor to the response, one chunk of the fetch size at a time,
+ * flushing after each chunk. Runs in its own read-only transaction, as it outlives the request thread.
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${tasks.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public void export(Predicate predicate, ExportFormat format, OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        final ObjectWriter jsonWriter = objectMapper.writerFor(TaskExportDto.class);
+        if (format == ExportFormat.CSV) {
+            TaskCsvFormat.writeHeader(writer);
+        }
+
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status ->
+                    taskRepository.forEachExportChunk(predicate, fetchSize, chunk -> {
+                        try {
+                            for (TaskExportDto task : chunk) {
+                                if (format == ExportFormat.CSV) {
+                                    TaskCsvFormat.writeRow(writer, task);
+                                } else {
+                                    writer.write(jsonWriter.writeValueAsString(task));
+                                    writer.write('\n');
+                                }
+                            }
+                            writer.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.ExportFormat;
+import hexlet.code.dto.ImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+public interface TaskImportService {
+
+    /**
+     * Imports task rows in the export layout. Unknown statuses and labels are created, users must exist.
+     *
+     * @param defaultAuthorId author of rows without one, null to reject such rows
+     * @param anyAuthor       whether rows may name any user as author, otherwise rows authored by someone else
+     *                        than the default author are rejected
+     * @param progress        receives the number of rows processed so far after each written chunk
+     */
+    ImportResultDto importTasks(InputStream in, ExportFormat format, Long defaultAuthorId, boolean anyAuthor,
+                                LongConsumer progress) throws IOException;
+}
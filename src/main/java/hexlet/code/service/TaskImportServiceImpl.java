@@ -0,0 +1,376 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.ExportFormat;
+import hexlet.code.dto.ImportErrorDto;
+import hexlet.code.dto.ImportResultDto;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskExportDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.model.IdGeneration;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.repository.UserRepository.UserEmail;
+import hexlet.code.service.ResourceVersions.Resource;
+import hexlet.code.service.TaskStatsService.Groups;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams task rows into the database without the persistence context: references are resolved through lookup maps
+ * loaded once, and rows are written with plain JDBC batches, one transaction per chunk of the import batch size.
+ * Statuses and labels a chunk introduces are created in its transaction. A chunk the database rejects is written
+ * again row by row, so each failing row is reported with its own error.
+ * Task ids are reserved from the same pooled sequence Hibernate uses, so both can insert at the same time.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final String INSERT_TASK = "insert into tasks "
+            + "(id, name, description, task_status_id, author_id, executor_id, created_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_TASK_LABEL = "insert into tasks_labels (task_id, labels_id) values (?, ?)";
+
+    private static final String TASK_ID_SEQUENCE = "tasks_seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStatusRepository statusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusService statusService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Value("${tasks.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportResultDto importTasks(InputStream in, ExportFormat format, Long defaultAuthorId, boolean anyAuthor,
+                                       LongConsumer progress) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        final ImportRun run = new ImportRun(defaultAuthorId, anyAuthor, progress);
+
+        if (format == ExportFormat.CSV) {
+            final List<String> header = TaskCsvFormat.readRecord(reader);
+            while (header != null) {
+                final List<String> record;
+                try {
+                    record = TaskCsvFormat.readRecord(reader);
+                } catch (IllegalArgumentException e) {
+                    run.reject(run.nextRow(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                final boolean blank = record.size() == 1 && record.get(0).isEmpty();
+                if (!blank) {
+                    final long row = run.nextRow();
+                    try {
+                        run.accept(row, TaskCsvFormat.toRow(header, record));
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        run.reject(row, e.getMessage());
+                    }
+                }
+            }
+        } else {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.isBlank()) {
+                    final long row = run.nextRow();
+                    try {
+                        run.accept(row, objectMapper.readValue(line, TaskExportDto.class));
+                    } catch (JsonProcessingException e) {
+                        run.reject(row, e.getOriginalMessage());
+                    }
+                }
+                line = reader.readLine();
+            }
+        }
+
+        run.flush();
+        return new ImportResultDto(run.imported, run.rejected, run.errors);
+    }
+
+    private static Long referenceId(Map<String, Long> existing, Map<String, Long> created, String name,
+                                    Function<String, Long> create) {
+        final Long id = existing.get(name);
+        return id == null ? created.computeIfAbsent(name, create) : id;
+    }
+
+    private record PendingTask(long row, long id, String name, String description, String status, Long authorId,
+                               Long executorId, Set<String> labels, Date createdAt) {
+    }
+
+    private record ResolvedTask(PendingTask task, Long statusId, Set<Long> labelIds) {
+    }
+
+    /**
+     * State of one import: lookup maps, the chunk being collected, reserved ids and the report.
+     */
+    private final class ImportRun {
+
+        private final Map<String, Long> statuses = statusRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskStatus::getName, TaskStatus::getId, (first, second) -> first));
+
+        private final Map<String, Long> labels = labelRepository.findAll().stream()
+                .collect(Collectors.toMap(Label::getName, Label::getId, (first, second) -> first));
+
+        private final Map<String, Long> users = userRepository.findAllEmails().stream()
+                .collect(Collectors.toMap(UserEmail::getEmail, UserEmail::getId));
+
+        private final String nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceNextValString(TASK_ID_SEQUENCE);
+
+        private final Long defaultAuthorId;
+
+        private final boolean anyAuthor;
+
+        private final LongConsumer progress;
+
+        private final List<PendingTask> chunk = new ArrayList<>();
+
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+
+        private long rows;
+
+        private long imported;
+
+        private long rejected;
+
+        private long nextId = 1;
+
+        private long lastReservedId;
+
+        ImportRun(Long defaultAuthorId, boolean anyAuthor, LongConsumer progress) {
+            this.defaultAuthorId = defaultAuthorId;
+            this.anyAuthor = anyAuthor;
+            this.progress = progress;
+        }
+
+        long nextRow() {
+            return ++rows;
+        }
+
+        void accept(long row, TaskExportDto data) {
+            if (data.getName() == null || data.getName().isBlank()) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            if (data.getTaskStatus() == null || data.getTaskStatus().isBlank()) {
+                throw new IllegalArgumentException("Task status is required");
+            }
+            final Long authorId = data.getAuthor() == null ? defaultAuthorId : users.get(data.getAuthor());
+            if (authorId == null) {
+                throw new IllegalArgumentException(data.getAuthor() == null
+                        ? "Author is required"
+                        : "No users with email " + data.getAuthor());
+            }
+            if (!anyAuthor && !authorId.equals(defaultAuthorId)) {
+                throw new IllegalArgumentException("Tasks can only be imported as authored by the current user");
+            }
+            final Long executorId = data.getExecutor() == null ? null : users.get(data.getExecutor());
+            if (data.getExecutor() != null && executorId == null) {
+                throw new IllegalArgumentException("No users with email " + data.getExecutor());
+            }
+
+            final Set<String> labelNames = data.getLabels() == null
+                    ? Set.of()
+                    : new LinkedHashSet<>(data.getLabels());
+
+            chunk.add(new PendingTask(row, reserveId(), data.getName(), data.getDescription(), data.getTaskStatus(),
+                    authorId, executorId, labelNames, data.getCreatedAt() == null ? new Date() : data.getCreatedAt()));
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String error) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorDto(row, error));
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            final List<PendingTask> tasks = List.copyOf(chunk);
+            chunk.clear();
+
+            final long importedBefore = imported;
+            try {
+                writeChunk(tasks);
+            } catch (DataAccessException e) {
+                // the batch doesn't tell which row failed, written one by one each row gets its own error
+                for (PendingTask task : tasks) {
+                    try {
+                        writeChunk(List.of(task));
+                    } catch (DataAccessException rowError) {
+                        reject(task.row(), rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            if (imported > importedBefore) {
+                // a chunk holds more rows than a subscriber's queue, one reset instead of an event per row
+                taskEventService.tasksReset();
+                resourceVersions.bump(Resource.TASKS);
+            }
+            progress.accept(rows);
+        }
+
+        /**
+         * Writes the rows and the statuses and labels they introduce in one transaction,
+         * the lookup maps learn the new references only once it commits.
+         */
+        private void writeChunk(List<PendingTask> tasks) {
+            final Map<String, Long> createdStatuses = new HashMap<>();
+            final Map<String, Long> createdLabels = new HashMap<>();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                final List<ResolvedTask> resolved = resolve(tasks, createdStatuses, createdLabels);
+                // new statuses and labels are inserted before the rows that reference them
+                statusRepository.flush();
+                write(resolved);
+            });
+            statuses.putAll(createdStatuses);
+            labels.putAll(createdLabels);
+            imported += tasks.size();
+        }
+
+        private List<ResolvedTask> resolve(List<PendingTask> tasks, Map<String, Long> createdStatuses,
+                                           Map<String, Long> createdLabels) {
+            final List<ResolvedTask> resolved = new ArrayList<>(tasks.size());
+            for (PendingTask task : tasks) {
+                final Long statusId = referenceId(statuses, createdStatuses, task.status(),
+                        name -> statusService.createStatus(new TaskStatusDto(name)).getId());
+                final Set<Long> labelIds = new LinkedHashSet<>();
+                for (String label : task.labels()) {
+                    labelIds.add(referenceId(labels, createdLabels, label,
+                            name -> labelService.createLabel(new LabelDto(name)).getId()));
+                }
+                resolved.add(new ResolvedTask(task, statusId, labelIds));
+            }
+            return resolved;
+        }
+
+        private void write(List<ResolvedTask> tasks) {
+            jdbcTemplate.batchUpdate(INSERT_TASK, tasks, tasks.size(), (statement, resolved) -> {
+                final PendingTask task = resolved.task();
+                statement.setLong(1, task.id());
+                statement.setString(2, task.name());
+                statement.setString(3, task.description());
+                statement.setLong(4, resolved.statusId());
+                statement.setLong(5, task.authorId());
+                if (task.executorId() == null) {
+                    statement.setNull(6, Types.BIGINT);
+                } else {
+                    statement.setLong(6, task.executorId());
+                }
+                statement.setTimestamp(7, new Timestamp(task.createdAt().getTime()));
+            });
+
+            final List<long[]> taskLabels = tasks.stream()
+                    .flatMap(resolved -> resolved.labelIds().stream()
+                            .map(labelId -> new long[] {resolved.task().id(), labelId}))
+                    .collect(Collectors.toList());
+            if (!taskLabels.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TASK_LABEL, taskLabels, taskLabels.size(), (statement, link) -> {
+                    statement.setLong(1, link[0]);
+                    statement.setLong(2, link[1]);
+                });
+            }
+
+            final List<Task> indexed = new ArrayList<>(tasks.size());
+            for (ResolvedTask resolved : tasks) {
+                final PendingTask task = resolved.task();
+                taskStatsService.countChange(null,
+                        new Groups(resolved.statusId(), task.executorId(), resolved.labelIds()));
+                final Task searchable = new Task();
+                searchable.setId(task.id());
+                searchable.setName(task.name());
+                searchable.setDescription(task.description());
+                indexed.add(searchable);
+            }
+            taskSearchService.index(indexed);
+        }
+
+        /**
+         * Takes ids the way Hibernate's pooled optimizer does: a sequence value reserves the block right below it.
+         */
+        private long reserveId() {
+            if (nextId > lastReservedId) {
+                lastReservedId = jdbcTemplate.queryForObject(nextIdSql, Long.class);
+                nextId = lastReservedId - IdGeneration.ALLOCATION_SIZE + 1;
+            }
+            return nextId++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.CursorPage;
+import hexlet.code.dto.TaskListItemDto;
+import hexlet.code.model.Task;
+
+import java.util.Collection;
+
+public interface TaskSearchService {
+
+    CursorPage<TaskListItemDto> search(String query, String cursor, Integer limit);
+
+    void index(Collection<Task> tasks);
+
+    void remove(Long taskId);
+
+    void rebuild();
+
+    void rebuildIfIncomplete();
+}
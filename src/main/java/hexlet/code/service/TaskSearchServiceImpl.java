@@ -0,0 +1,365 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.CursorPage;
+import hexlet.code.dto.InvalidCursorException;
+import hexlet.code.dto.TaskListItemDto;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskRepository.SearchableTask;
+import hexlet.code.repository.TaskRepository.TableState;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Inverted index of task names and descriptions, kept in an embedded Lucene index.
+ * Writes are applied after commit and become searchable right away, they reach the disk every commit interval.
+ * The index holds ids only, a page of hits is loaded with one list query, and it is rebuilt from the database
+ * on start unless its last commit recorded the state of the tasks table it was complete for: a rebuild and
+ * a clean shutdown record it, a crash that lost the uncommitted part leaves an older one behind.
+ * Changes committed while a rebuild runs are queued and replayed over it.
+ */
+@Slf4j
+@Service
+public class TaskSearchServiceImpl implements TaskSearchService, DisposableBean {
+
+    private static final String ID = "id";
+
+    private static final String NAME = "name";
+
+    private static final String DESCRIPTION = "description";
+
+    private static final String TABLE_STATE = "tableState";
+
+    private static final Set<String> ID_ONLY = Set.of(ID);
+
+    private static final float NAME_BOOST = 2f;
+
+    private static final int MAX_QUERY_WORDS = 32;
+
+    private static final Pattern OFFSET_CURSOR = Pattern.compile("\\d{1,9}");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${tasks.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${tasks.search.max-window:10000}")
+    private int maxWindow;
+
+    @Value("${tasks.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    private final Object changesLock = new Object();
+
+    /**
+     * Changes committed while a rebuild runs, null otherwise.
+     */
+    private List<IndexChange> pendingChanges;
+
+    /**
+     * A change couldn't be applied or a rebuild failed, the index stays incomplete until rebuilt.
+     */
+    private boolean outOfDate;
+
+    public TaskSearchServiceImpl(@Value("${tasks.search.index-dir:}") final String indexDir) throws IOException {
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public CursorPage<TaskListItemDto> search(String query, String cursor, Integer limit) {
+        final int pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+        if (pageSize < 1) {
+            throw new InvalidCursorException("Page size must be positive");
+        }
+        final int offset = cursor == null ? 0 : decodeOffset(cursor);
+        if (offset + pageSize > maxWindow) {
+            throw new InvalidCursorException("Only the first " + maxWindow + " search results can be paged");
+        }
+
+        final List<Long> ids = new ArrayList<>(pageSize);
+        final boolean hasNext;
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final ScoreDoc[] hits = searcher.search(toQuery(query), offset + pageSize + 1).scoreDocs;
+                for (int hit = offset; hit < Math.min(hits.length, offset + pageSize); hit++) {
+                    ids.add(Long.valueOf(searcher.doc(hits[hit].doc, ID_ONLY).get(ID)));
+                }
+                hasNext = hits.length > offset + pageSize;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new CursorPage<>(loadInRankOrder(ids), hasNext ? Integer.toString(offset + pageSize) : null);
+    }
+
+    @Override
+    public void index(Collection<Task> tasks) {
+        final List<Document> documents = tasks.stream()
+                .map(task -> toDocument(task.getId(), task.getName(), task.getDescription()))
+                .collect(Collectors.toList());
+        afterCommit(() -> {
+            for (Document document : documents) {
+                writer.updateDocument(new Term(ID, document.get(ID)), document);
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        afterCommit(() -> writer.deleteDocuments(new Term(ID, taskId.toString())));
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        // taken before reading: a change committed later makes it differ and is rebuilt on the next start
+        final String tableState = tableState();
+        try {
+            synchronized (changesLock) {
+                pendingChanges = new ArrayList<>();
+                // a scheduled commit may persist the index half rebuilt
+                setCommittedState("");
+                writer.deleteAll();
+            }
+            long lastId = 0;
+            List<SearchableTask> batch;
+            do {
+                batch = taskRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, rebuildBatchSize));
+                for (SearchableTask task : batch) {
+                    writer.addDocument(toDocument(task.getId(), task.getName(), task.getDescription()));
+                    lastId = task.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            synchronized (changesLock) {
+                // replayed changes replace the documents read by the rebuild, they are at least as new
+                for (IndexChange change : pendingChanges) {
+                    change.apply();
+                }
+                pendingChanges = null;
+                outOfDate = false;
+                commit(tableState);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            markOutOfDate();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            markOutOfDate();
+            throw e;
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        final String committedState = StreamSupport.stream(writer.getLiveCommitData().spliterator(), false)
+                .filter(entry -> TABLE_STATE.equals(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (!tableState().equals(committedState)) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.search.commit-interval-ms:10000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        // requests are done by now, every committed change has been applied
+        try {
+            final String tableState = tableState();
+            synchronized (changesLock) {
+                if (!outOfDate) {
+                    commit(tableState);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Task search index is rebuilt on the next start", e);
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void commit(String tableState) throws IOException {
+        setCommittedState(tableState);
+        writer.commit();
+    }
+
+    private void setCommittedState(String tableState) {
+        writer.setLiveCommitData(Map.of(TABLE_STATE, tableState).entrySet());
+    }
+
+    /**
+     * Whatever gets committed from now on must not pass for a complete index on the next start.
+     */
+    private void markOutOfDate() {
+        synchronized (changesLock) {
+            pendingChanges = null;
+            outOfDate = true;
+            setCommittedState("");
+        }
+    }
+
+    private String tableState() {
+        final TableState state = taskRepository.getTableState();
+        return state.getTaskCount() + ":" + state.getMaxId() + ":" + state.getVersionSum();
+    }
+
+    private List<TaskListItemDto> loadInRankOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, TaskListItemDto> tasks = taskRepository.findPage(QTask.task.id.in(ids), null, ids.size())
+                .stream()
+                .collect(Collectors.toMap(TaskListItemDto::getId, Function.identity()));
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Query toQuery(String text) throws IOException {
+        final BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int words = 0;
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            final CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                if (++words > MAX_QUERY_WORDS) {
+                    throw new InvalidSearchQueryException(
+                            "Search query may contain up to " + MAX_QUERY_WORDS + " words");
+                }
+                final String word = term.toString();
+                query.add(new BoostQuery(new TermQuery(new Term(NAME, word)), NAME_BOOST), Occur.SHOULD);
+                query.add(new TermQuery(new Term(DESCRIPTION, word)), Occur.SHOULD);
+            }
+            tokens.end();
+        }
+        if (words == 0) {
+            throw new InvalidSearchQueryException("Search query must contain a word");
+        }
+        return query.build();
+    }
+
+    private static Document toDocument(Long id, String name, String description) {
+        final Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(NAME, name, Field.Store.NO));
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (!OFFSET_CURSOR.matcher(cursor).matches()) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        return Integer.parseInt(cursor);
+    }
+
+    /**
+     * Applies the change once the writing transaction commits, the database stays the source of truth:
+     * a change that can't be indexed is left for the next rebuild instead of failing the committed request.
+     */
+    private void afterCommit(IndexChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(IndexChange change) {
+        try {
+            synchronized (changesLock) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                    return;
+                }
+                change.apply();
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            markOutOfDate();
+            log.warn("Task search index is out of date until rebuilt", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void apply() throws IOException;
+    }
+}
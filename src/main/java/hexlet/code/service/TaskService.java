@@ -1,11 +1,18 @@
 package hexlet.code.service;
 
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.CursorPage;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskListItemDto;
 import hexlet.code.model.Task;
 
 public interface TaskService {
 
+    CursorPage<TaskListItemDto> getTasks(Predicate predicate, String cursor, Integer limit);
+
     Task createTask(TaskDto taskData);
 
     Task updateTask(Long id, TaskDto newTaskData);
+
+    void deleteTask(Long id);
 }
@@ -1,6 +1,11 @@
 package hexlet.code.service;
 
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.CursorPage;
+import hexlet.code.dto.InvalidCursorException;
+import hexlet.code.dto.TaskCursor;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskListItemDto;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
@@ -9,10 +14,16 @@ import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.ResourceVersions.Resource;
+import hexlet.code.service.TaskStatsService.Groups;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -32,6 +43,39 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Value("${tasks.page.max-size:500}")
+    private int maxPageSize;
+
+    @Override
+    public CursorPage<TaskListItemDto> getTasks(Predicate predicate, String cursor, Integer limit) {
+        final int pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+        if (pageSize < 1) {
+            throw new InvalidCursorException("Page size must be positive");
+        }
+        final TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+
+        final List<TaskListItemDto> tasks = taskRepository.findPage(predicate, after, pageSize + 1);
+        if (tasks.size() <= pageSize) {
+            return new CursorPage<>(tasks, null);
+        }
+
+        final List<TaskListItemDto> content = tasks.subList(0, pageSize);
+        final TaskListItemDto last = content.get(pageSize - 1);
+        return new CursorPage<>(content, new TaskCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
     @Override
     public Task createTask(TaskDto taskData) {
         final Task task = new Task();
@@ -50,12 +94,20 @@ public class TaskServiceImpl implements TaskService {
         task.setTaskStatus(status);
         task.setAuthor(author);
         task.setLabels(labels);
-        return taskRepository.save(task);
+        final Task created = taskRepository.save(task);
+        loadReferences(created);
+        taskStatsService.countChange(null, Groups.of(created));
+        taskSearchService.index(List.of(created));
+        taskEventService.taskCreated(created);
+        resourceVersions.bump(Resource.TASKS);
+        return created;
     }
 
     @Override
     public Task updateTask(Long id, TaskDto newTaskData) {
         final Task task = taskRepository.getById(id);
+        final Groups before = Groups.of(task);
+        final Map<String, Object> fieldsBefore = TaskEventService.fieldsOf(task);
 
         final TaskStatus status = statusRepository.getById(newTaskData.getTaskStatusId());
         final List<Label> labels = labelRepository.findAllById(newTaskData.getLabelIds());
@@ -69,6 +121,33 @@ public class TaskServiceImpl implements TaskService {
         task.setDescription(newTaskData.getDescription());
         task.setTaskStatus(status);
         task.setLabels(labels);
-        return taskRepository.save(task);
+        final Task updated = taskRepository.save(task);
+        loadReferences(updated);
+        taskStatsService.countChange(before, Groups.of(updated));
+        taskSearchService.index(List.of(updated));
+        taskEventService.taskUpdated(fieldsBefore, updated);
+        resourceVersions.bump(Resource.TASKS);
+        return updated;
+    }
+
+    /**
+     * References are set by id, the returned task must show them in full.
+     * The task is written first, so a reference to a missing row fails as a constraint violation.
+     */
+    private void loadReferences(Task task) {
+        taskRepository.flush();
+        Hibernate.initialize(task.getTaskStatus());
+        Hibernate.initialize(task.getExecutor());
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        final Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("No Tasks with such id"));
+        taskRepository.delete(task);
+        taskStatsService.countChange(Groups.of(task), null);
+        taskSearchService.remove(id);
+        taskEventService.taskDeleted(id);
+        resourceVersions.bump(Resource.TASKS);
     }
 }
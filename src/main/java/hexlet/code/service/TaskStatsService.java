@@ -0,0 +1,32 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskStatsDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public interface TaskStatsService {
+
+    TaskStatsDto getStats();
+
+    /**
+     * Counts a task moving between groups, {@code before} is null for a created task, {@code after} for a deleted one.
+     */
+    void countChange(Groups before, Groups after);
+
+    void reconcile();
+
+    record Groups(Long statusId, Long executorId, Set<Long> labelIds) {
+
+        public static Groups of(Task task) {
+            return new Groups(
+                    task.getTaskStatus().getId(),
+                    task.getExecutor() == null ? null : task.getExecutor().getId(),
+                    task.getLabels() == null ? Set.of() : task.getLabels().stream()
+                            .map(Label::getId)
+                            .collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
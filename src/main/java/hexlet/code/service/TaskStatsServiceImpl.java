@@ -0,0 +1,116 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskStatsDto;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskRepository.GroupCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task counts per group kept in memory, so a read copies one entry per group instead of scanning tasks.
+ * Writes apply their delta after commit. Deltas racing with a reconciliation, or rows written past the services,
+ * may leave a drift that the next periodic reconciliation from the database removes.
+ */
+@Service
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private volatile Counters counters = new Counters();
+
+    @Override
+    public TaskStatsDto getStats() {
+        final Counters current = counters;
+        return new TaskStatsDto(
+                current.total.get(),
+                Map.copyOf(current.byStatus),
+                Map.copyOf(current.byExecutor),
+                current.withoutExecutor.get(),
+                Map.copyOf(current.byLabel));
+    }
+
+    @Override
+    public void countChange(Groups before, Groups after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(before, after);
+            }
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${tasks.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${tasks.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        final Counters fresh = new Counters();
+        for (GroupCount group : taskRepository.countByStatus()) {
+            fresh.byStatus.put(group.getGroupId(), group.getTaskCount());
+            fresh.total.addAndGet(group.getTaskCount());
+        }
+        for (GroupCount group : taskRepository.countByExecutor()) {
+            if (group.getGroupId() == null) {
+                fresh.withoutExecutor.set(group.getTaskCount());
+            } else {
+                fresh.byExecutor.put(group.getGroupId(), group.getTaskCount());
+            }
+        }
+        for (GroupCount group : taskRepository.countByLabel()) {
+            fresh.byLabel.put(group.getGroupId(), group.getTaskCount());
+        }
+        counters = fresh;
+    }
+
+    private void apply(Groups before, Groups after) {
+        final Counters current = counters;
+        if (before != null) {
+            current.add(before, -1);
+        }
+        if (after != null) {
+            current.add(after, 1);
+        }
+    }
+
+    private static final class Counters {
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final Map<Long, Long> byStatus = new ConcurrentHashMap<>();
+
+        private final Map<Long, Long> byExecutor = new ConcurrentHashMap<>();
+
+        private final AtomicLong withoutExecutor = new AtomicLong();
+
+        private final Map<Long, Long> byLabel = new ConcurrentHashMap<>();
+
+        void add(Groups groups, long delta) {
+            total.addAndGet(delta);
+            add(byStatus, groups.statusId(), delta);
+            if (groups.executorId() == null) {
+                withoutExecutor.addAndGet(delta);
+            } else {
+                add(byExecutor, groups.executorId(), delta);
+            }
+            groups.labelIds().forEach(labelId -> add(byLabel, labelId, delta));
+        }
+
+        private static void add(Map<Long, Long> counts, Long groupId, long delta) {
+            counts.merge(groupId, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+}
@@ -1,16 +1,14 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.TaskStatusDto;
-import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.ResourceVersions.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 public class TaskStatusServiceImpl implements TaskStatusService {
 
@@ -20,27 +18,33 @@ public class TaskStatusServiceImpl implements TaskStatusService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Override
     public TaskStatus createStatus(TaskStatusDto statusData) {
         final TaskStatus taskStatus = new TaskStatus();
         taskStatus.setName(statusData.getName());
-        return statusRepository.save(taskStatus);
+        final TaskStatus created = statusRepository.save(taskStatus);
+        resourceVersions.bump(Resource.TASK_STATUSES);
+        return created;
     }
 
     @Override
     public TaskStatus updateStatus(Long id, TaskStatusDto statusData) {
         final TaskStatus taskStatus = statusRepository.getById(id);
         taskStatus.setName(statusData.getName());
-        return statusRepository.save(taskStatus);
+        final TaskStatus updated = statusRepository.save(taskStatus);
+        resourceVersions.bump(Resource.TASK_STATUSES);
+        return updated;
     }
 
     @Override
     public void deleteStatus(Long id) {
-        Optional<Task> taskWithThisStatus = taskRepository.findFirst1ByTaskStatusId(id);
-
-        if (taskWithThisStatus.isPresent()) {
+        if (taskRepository.existsByTaskStatusId(id)) {
             throw new DataIntegrityViolationException("Unable to delete the status associated with an existing task");
         }
         statusRepository.deleteById(id);
+        resourceVersions.bump(Resource.TASK_STATUSES);
     }
 }
@@ -1,12 +1,15 @@
 package hexlet.code.service;
 
+import hexlet.code.config.security.UserPrincipal;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 
@@ -15,22 +18,68 @@ import java.util.Optional;
 @AllArgsConstructor
 public class TokenAuthenticationService implements AuthenticationService {
 
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    private static final String LOGINS = "auth.logins";
+
+    private static final String TOKEN_VERIFICATIONS = "auth.token.verifications";
+
+    private static final String RESULT = "result";
+
     private final UserRepository userRepository;
 
     private final TokenService tokenService;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+
+    private final PrincipalCache principalCache;
+
+    private final MeterRegistry meterRegistry;
 
     @Override
     public String login(String username, String password) {
-        return userRepository.findByEmail(username)
-                .filter(user -> passwordEncoder.matches(password, user.getPassword()))
-                .map(user -> tokenService.getToken(Map.of("username", username)))
-                .orElseThrow(() -> new UsernameNotFoundException("invalid login and/or password"));
+        final User user = userRepository.findByEmail(username)
+                .filter(candidate -> passwordHashingService.matches(password, candidate.getPassword()))
+                .orElseThrow(() -> {
+                    meterRegistry.counter(LOGINS, RESULT, "failure").increment();
+                    return new UsernameNotFoundException("invalid login and/or password");
+                });
+        meterRegistry.counter(LOGINS, RESULT, "success").increment();
+
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+            userRepository.save(user);
+        }
+        return tokenService.getToken(Map.of("username", username));
     }
 
     @Override
-    public Optional<User> findByToken(String token) {
-        return userRepository.findByEmail(tokenService.parse(token).get("username").toString());
+    public Optional<UserPrincipal> findByToken(String token) {
+        final Optional<UserPrincipal> cached = principalCache.get(token);
+        if (cached.isPresent()) {
+            meterRegistry.counter(TOKEN_VERIFICATIONS, RESULT, "cached").increment();
+            return cached;
+        }
+
+        final long generation = principalCache.generation();
+        final Map<String, Object> claims;
+        try {
+            claims = tokenService.parse(token);
+        } catch (RuntimeException e) {
+            meterRegistry.counter(TOKEN_VERIFICATIONS, RESULT, "invalid").increment();
+            throw e;
+        }
+        final Optional<UserPrincipal> principal = userRepository.findByEmail(claims.get("username").toString())
+                .map(UserPrincipal::new);
+        meterRegistry.counter(TOKEN_VERIFICATIONS, RESULT, principal.isPresent() ? "verified" : "unknown-user")
+                .increment();
+
+        principal.ifPresent(user -> principalCache.put(token, user, expiration(claims), generation));
+        return principal;
+    }
+
+    private Date expiration(Map<String, Object> claims) {
+        final Object expiration = claims.get(Claims.EXPIRATION);
+        return expiration instanceof Number seconds ? new Date(seconds.longValue() * MILLIS_IN_SECOND) : null;
     }
 }
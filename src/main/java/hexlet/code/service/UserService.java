@@ -1,13 +1,14 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.UserDto;
+import hexlet.code.dto.UserUpdateDto;
 import hexlet.code.model.User;
 
 public interface UserService {
 
     User createUser(UserDto registrationData);
 
-    User updateUser(Long id, UserDto newData);
+    User updateUser(Long id, UserUpdateDto newData);
 
     void deleteUser(Long id);
 
@@ -1,18 +1,16 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.UserDto;
-import hexlet.code.model.Task;
+import hexlet.code.dto.UserUpdateDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.ResourceVersions.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 public class UserServiceImpl implements UserService {
 
@@ -20,39 +18,53 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Override
     public User createUser(UserDto registrationData) {
         final User user = new User();
         user.setEmail(registrationData.getEmail());
         user.setFirstName(registrationData.getFirstName());
         user.setLastName(registrationData.getLastName());
-        user.setPassword(passwordEncoder.encode(registrationData.getPassword()));
-        return userRepository.save(user);
+        user.setPassword(passwordHashingService.encode(registrationData.getPassword()));
+        final User created = userRepository.save(user);
+        resourceVersions.bump(Resource.USERS);
+        return created;
     }
 
     @Override
-    public User updateUser(Long id, UserDto newData) {
+    public User updateUser(Long id, UserUpdateDto newData) {
         final User user = userRepository.getById(id);
         user.setEmail(newData.getEmail());
         user.setFirstName(newData.getFirstName());
         user.setLastName(newData.getLastName());
-        user.setPassword(passwordEncoder.encode(newData.getPassword()));
-        return userRepository.save(user);
+        if (newData.getPassword() != null) {
+            user.setPassword(passwordHashingService.encode(newData.getPassword()));
+        }
+        final User updated = userRepository.save(user);
+        principalCache.evictUser(id);
+        resourceVersions.bump(Resource.USERS);
+        return updated;
     }
 
     @Override
     public void deleteUser(Long id) {
-        Optional<Task> userTask = taskRepository.findFirst1ByAuthorIdOrExecutorId(id, id);
-
-        if (userTask.isPresent()) {
+        // two exists queries, each served by its own index, instead of one OR over both columns
+        if (taskRepository.existsByAuthorId(id) || taskRepository.existsByExecutorId(id)) {
             throw new DataIntegrityViolationException("Can`t delete user with existing tasks");
         }
         userRepository.deleteById(id);
+        principalCache.evictUser(id);
+        resourceVersions.bump(Resource.USERS);
     }
 
     @Override
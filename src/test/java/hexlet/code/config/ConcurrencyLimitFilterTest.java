@@ -0,0 +1,76 @@
+package hexlet.code.config;
+
+import hexlet.code.config.ConcurrencyLimitConfiguration.ConcurrencyLimitFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+
+public class ConcurrencyLimitFilterTest {
+
+    private static final String EVENTS_PATH = "/api/tasks/events";
+
+    private final Semaphore permits = new Semaphore(1, true);
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(permits, 0, EVENTS_PATH);
+
+    @Test
+    void requestOverTheLimitIsRejected() throws Exception {
+        final MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, new MockFilterChain(
+                new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest request, HttpServletResponse servletResponse)
+                            throws IOException, ServletException {
+                        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), nested,
+                                new MockFilterChain());
+                    }
+                }));
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals(503, nested.getStatus());
+        Assertions.assertEquals("1", nested.getHeader(RETRY_AFTER));
+        Assertions.assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void asyncRequestKeepsItsPermitUntilComplete() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/export");
+        request.setAsyncSupported(true);
+        final AsyncContext[] async = new AsyncContext[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest servletRequest, HttpServletResponse response) {
+                async[0] = servletRequest.startAsync();
+            }
+        }));
+        Assertions.assertEquals(0, permits.availablePermits());
+
+        async[0].complete();
+        Assertions.assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void eventStreamIsNotCounted() throws Exception {
+        permits.acquire();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", EVENTS_PATH), response, new MockFilterChain());
+
+        Assertions.assertEquals(200, response.getStatus());
+    }
+}
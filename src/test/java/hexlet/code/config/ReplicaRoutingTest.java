@@ -0,0 +1,179 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.database.rider.core.api.configuration.DBUnit;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.config.replica.ReplicaRoutingDataSource;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.service.TaskSearchService;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static hexlet.code.utils.TestUtils.asJson;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes reads to a second in-memory database lagging behind: it holds only one of the tasks, renamed,
+ * so it is visible where a read went.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+    "replicas.sources[0].url=jdbc:h2:mem:replica",
+    "replicas.sources[0].username=sa",
+    "replicas.sources[0].initialize-schema=true",
+    "replicas.sticky-ms=60000"
+})
+@AutoConfigureMockMvc
+@DBRider
+@DBUnit(alwaysCleanBefore = true)
+@DataSet("tasks.yml")
+public class ReplicaRoutingTest {
+
+    private static final String TASKS_PATH = "/api/tasks";
+
+    private static final List<String> COPIED_TABLES = List.of("users", "task_statuses", "labels");
+
+    @Autowired
+    private TestUtils utils;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void copyReferenceDataToReplica() {
+        primary = new JdbcTemplate(dataSource);
+        replica = new JdbcTemplate(routingDataSource.getResolvedDataSources().get("replica-0"));
+
+        replica.update("delete from tasks_labels");
+        replica.update("delete from tasks");
+        for (String table : List.of("labels", "task_statuses", "users")) {
+            replica.update("delete from " + table);
+        }
+        for (String table : COPIED_TABLES) {
+            for (Map<String, Object> row : primary.queryForList("select * from " + table)) {
+                replica.update("insert into " + table + " (" + String.join(", ", row.keySet()) + ") values ("
+                        + row.keySet().stream().map(column -> "?").collect(Collectors.joining(", ")) + ")",
+                        row.values().toArray());
+            }
+        }
+        replica.update("insert into tasks (id, name, task_status_id, author_id, created_at, version) "
+                + "select id, name, task_status_id, author_id, created_at, version from tasks where id = 1");
+        replica.update("update tasks set name = 'fromReplica'");
+        taskSearchService.rebuild();
+    }
+
+    @Test
+    void readsGoToReplicaUntilOwnWrite() throws Exception {
+        Assertions.assertEquals(3, primary.queryForObject("select count(*) from tasks", Integer.class));
+        Assertions.assertEquals(List.of("fromReplica"), searchedNames("taskOne", "Ivan@Ivan.com"));
+
+        final TaskDto task = new TaskDto("written", null, 1L, 1L, Set.of());
+        utils.perform(post(TASKS_PATH).contentType(APPLICATION_JSON).content(asJson(task)), "Egor@Egor.com")
+                .andExpect(status().isCreated());
+
+        Assertions.assertEquals(List.of("written"), searchedNames("written", "Egor@Egor.com"));
+        Assertions.assertEquals(List.of("taskOne"), searchedNames("taskOne", "Egor@Egor.com"));
+        Assertions.assertEquals(List.of(), searchedNames("written", "Ivan@Ivan.com"));
+        Assertions.assertEquals(List.of("fromReplica"), searchedNames("taskOne", "Ivan@Ivan.com"));
+    }
+
+    @Test
+    void taggedReadsGoToPrimary() throws Exception {
+        final MockHttpServletResponse before = utils.perform(get(TASKS_PATH), "Ivan@Ivan.com")
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        Assertions.assertEquals(List.of("taskTwo", "taskOne", "taskFilter"), names(before));
+
+        final TaskDto task = new TaskDto("written", null, 1L, 1L, Set.of());
+        utils.perform(post(TASKS_PATH).contentType(APPLICATION_JSON).content(asJson(task)), "Egor@Egor.com")
+                .andExpect(status().isCreated());
+
+        final MockHttpServletResponse after = utils.perform(get(TASKS_PATH)
+                        .header(IF_NONE_MATCH, before.getHeader(ETAG)), "Ivan@Ivan.com")
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        Assertions.assertTrue(names(after).contains("written"));
+        Assertions.assertFalse(names(after).contains("fromReplica"));
+
+        utils.perform(get(TASKS_PATH).header(IF_NONE_MATCH, after.getHeader(ETAG)), "Ivan@Ivan.com")
+                .andExpect(status().isNotModified());
+        Assertions.assertTrue(utils.perform(get(TASKS_PATH + "/1"), "Ivan@Ivan.com")
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .contains("taskOne"));
+    }
+
+    @Test
+    void replicaReadsAreNotCached() throws Exception {
+        replica.update("insert into labels (id, name, created_at) values (100, 'replicaOnly', current_timestamp)");
+
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        final List<String> fromReplica = readOnly.execute(status -> labelRepository.findAll().stream()
+                .map(Label::getName)
+                .toList());
+        Assertions.assertTrue(fromReplica.contains("replicaOnly"));
+
+        final String fromPrimary = utils.perform(get("/api/labels"), "Ivan@Ivan.com")
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Assertions.assertFalse(fromPrimary.contains("replicaOnly"));
+    }
+
+    private List<Object> searchedNames(String query, String byUser) throws Exception {
+        return names(utils.perform(get(TASKS_PATH + "/search").param("q", query), byUser)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse());
+    }
+
+    private static List<Object> names(MockHttpServletResponse response) throws Exception {
+        final List<Map<String, Object>> tasks = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        return tasks.stream().map(item -> item.get("name")).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,69 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Serves a hashed bundle from the test resources, it has precompressed variants like the built ones.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@AutoConfigureMockMvc
+public class StaticResourcesTest {
+
+    private static final String BUNDLE_PATH = "/static/js/fixture.5f3a1b2c.js";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void hashedBundle() throws Exception {
+        final MockHttpServletResponse brotli = mockMvc.perform(get(BUNDLE_PATH).header(ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "br"))
+                .andReturn()
+                .getResponse();
+        Assertions.assertTrue(brotli.getHeader(CACHE_CONTROL).contains("max-age=31536000"));
+        Assertions.assertTrue(brotli.getHeader(CACHE_CONTROL).contains("immutable"));
+
+        mockMvc.perform(get(BUNDLE_PATH).header(ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"));
+
+        final String plain = mockMvc.perform(get(BUNDLE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Assertions.assertTrue(plain.contains("fixture"));
+    }
+
+    @Test
+    void indexIsRevalidated() throws Exception {
+        final MockHttpServletResponse index = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CACHE_CONTROL, "no-cache"))
+                .andReturn()
+                .getResponse();
+        final String lastModified = index.getHeader(LAST_MODIFIED);
+        Assertions.assertNotNull(lastModified);
+
+        mockMvc.perform(get("/tasks").header(IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,90 @@
+package hexlet.code.controller;
+
+import com.github.database.rider.core.api.configuration.DBUnit;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.utils.TestUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+
+import static hexlet.code.utils.TestUtils.asJson;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@AutoConfigureMockMvc
+@DBRider
+@DBUnit(alwaysCleanBefore = true)
+@DataSet("tasks.yml")
+public class CacheControllerTest {
+
+    private static final String TEST_EMAIL = "Egor@Egor.com";
+
+    private static final String CONTROLLER_PATH = "/api/caches";
+
+    @Autowired
+    private TestUtils utils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void labelsAreServedFromCache() throws Exception {
+        utils.perform(get("/api/labels"), TEST_EMAIL).andExpect(status().isOk());
+        utils.perform(get("/api/labels"), TEST_EMAIL).andExpect(status().isOk());
+
+        Assertions.assertTrue(statistics.getQueryCacheHitCount() > 0);
+        Assertions.assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+
+        MockHttpServletResponse response = utils.perform(get(CONTROLLER_PATH), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertTrue(response.getContentAsString().contains("hexlet.code.model.Label"));
+    }
+
+    @Test
+    void cacheIsInvalidatedOnUpdate() throws Exception {
+        utils.perform(get("/api/labels/1"), TEST_EMAIL).andExpect(status().isOk());
+
+        MockHttpServletRequestBuilder request = put("/api/labels/1")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(new LabelDto("renamed")));
+        utils.perform(request, TEST_EMAIL).andExpect(status().isOk());
+
+        MockHttpServletResponse response = utils.perform(get("/api/labels"), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertTrue(response.getContentAsString().contains("renamed"));
+        Assertions.assertFalse(response.getContentAsString().contains("feature"));
+    }
+
+    @Test
+    void securityTest() throws Exception {
+        utils.perform(get(CONTROLLER_PATH)).andExpect(status().isUnauthorized());
+    }
+}
@@ -103,6 +103,14 @@ public class LabelControllerTest {
         Assertions.assertEquals(2, labelRepository.count());
     }
 
+    @Test
+    void deleteLabelInUse() throws Exception {
+        utils.perform(delete(CONTROLLER_PATH + "/1"), TEST_EMAIL).andExpect(status().isUnprocessableEntity());
+        utils.perform(delete(CONTROLLER_PATH + "/100"), TEST_EMAIL).andExpect(status().isNotFound());
+
+        Assertions.assertEquals(3, labelRepository.count());
+    }
+
     @Test
     void securityTest() throws Exception {
         utils.perform(get(CONTROLLER_PATH)).andExpect(status().isUnauthorized());
@@ -0,0 +1,61 @@
+package hexlet.code.controller;
+
+import com.github.database.rider.core.api.configuration.DBUnit;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static hexlet.code.utils.TestUtils.asJson;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@DBRider
+@DBUnit(alwaysCleanBefore = true)
+@DataSet("tasks.yml")
+public class MetricsEndpointTest {
+
+    private static final String TEST_EMAIL = "Egor@Egor.com";
+
+    @Autowired
+    private TestUtils utils;
+
+    @Test
+    void scrapeWithoutToken() throws Exception {
+        utils.perform(post("/api/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new LoginDto(TEST_EMAIL, "wrong"))))
+                .andExpect(status().isUnauthorized());
+        utils.perform(get("/api/tasks"), TEST_EMAIL).andExpect(status().isOk());
+
+        final String metrics = utils.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Assertions.assertTrue(metrics.lines()
+                .anyMatch(line -> line.startsWith("auth_logins_total") && line.contains("result=\"failure\"")));
+        Assertions.assertTrue(metrics.contains("auth_token_verifications_total"));
+        Assertions.assertTrue(metrics.contains("handler=\"TaskController#getAll\""));
+        Assertions.assertTrue(metrics.contains("http_server_requests_queries_count"));
+        Assertions.assertTrue(metrics.contains("spring_data_repository_invocations_seconds"));
+        Assertions.assertTrue(metrics.contains("hikaricp_connections_active"));
+        Assertions.assertTrue(metrics.contains("hibernate_statements_total"));
+        Assertions.assertTrue(metrics.contains("hibernate_second_level_cache_requests_total"));
+        Assertions.assertTrue(metrics.lines()
+                .anyMatch(line -> line.startsWith("cache_gets_total") && line.contains("cache_manager=\"hibernate\"")));
+    }
+}
@@ -1,27 +1,45 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.database.rider.core.api.configuration.DBUnit;
 import com.github.database.rider.core.api.dataset.DataSet;
 import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.dto.TaskBatchUpdateDto;
 import hexlet.code.dto.TaskDto;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskSearchService;
+import hexlet.code.service.TaskStatsService;
 import hexlet.code.utils.TestUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+
 import static hexlet.code.utils.TestUtils.asJson;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = RANDOM_PORT)
@@ -43,12 +61,26 @@ public class TaskControllerTest {
 
     private static final String TEST_EMAIL = "Egor@Egor.com";
 
+    private static final int EXTRA_TASKS = 20;
+
     @Autowired
     private TestUtils utils;
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void createTask() throws Exception {
         Assertions.assertEquals(3, taskRepository.count());
@@ -62,6 +94,128 @@ public class TaskControllerTest {
         Assertions.assertEquals(4, taskRepository.count());
     }
 
+    @Test
+    void createTaskResponseWithReferences() throws Exception {
+        MockHttpServletRequestBuilder request = post(CONTROLLER_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+
+        final String json = utils.perform(request, TEST_EMAIL)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final Map<String, Object> task = fromJson(json, new TypeReference<>() { });
+
+        Assertions.assertFalse(json.contains("hibernateLazyInitializer"));
+        Assertions.assertFalse(json.contains("version"));
+        Assertions.assertEquals("myTask", task.get("name"));
+        Assertions.assertEquals("new", ((Map<?, ?>) task.get("taskStatus")).get("name"));
+        Assertions.assertEquals("Egorov", ((Map<?, ?>) task.get("executor")).get("lastName"));
+        Assertions.assertEquals(TEST_EMAIL, ((Map<?, ?>) task.get("author")).get("email"));
+        Assertions.assertFalse(((Map<?, ?>) task.get("author")).containsKey("password"));
+        Assertions.assertEquals("feature", ((Map<?, ?>) ((List<?>) task.get("labels")).get(0)).get("name"));
+        Assertions.assertNotNull(task.get("createdAt"));
+
+        final TaskDto changed = new TaskDto("myTask", null, 2L, 2L, Set.of());
+        final Map<String, Object> updated = fromJson(utils.perform(put(CONTROLLER_PATH + "/" + task.get("id"))
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(changed)), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<>() { });
+        Assertions.assertEquals("at work", ((Map<?, ?>) updated.get("taskStatus")).get("name"));
+        Assertions.assertEquals("Ivanov", ((Map<?, ?>) updated.get("executor")).get("lastName"));
+        Assertions.assertEquals(List.of(), updated.get("labels"));
+    }
+
+    @Test
+    void createTasksInBatch() throws Exception {
+        final TaskDto invalidTask = new TaskDto("broken", null, null, 100L, Set.of());
+
+        MockHttpServletRequestBuilder rejected = post(CONTROLLER_PATH + "/batch")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(List.of(TASK_DATA, invalidTask)));
+
+        utils.perform(rejected, TEST_EMAIL).andExpect(status().isUnprocessableEntity());
+        Assertions.assertEquals(3, taskRepository.count());
+
+        MockHttpServletRequestBuilder bestEffort = post(CONTROLLER_PATH + "/batch?mode=BEST_EFFORT")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(List.of(TASK_DATA, invalidTask, TASK_DATA)));
+
+        MockHttpServletResponse response = utils.perform(bestEffort, TEST_EMAIL)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertTrue(response.getContentAsString().contains("No statuses with id 100"));
+        Assertions.assertEquals(5, taskRepository.count());
+
+        utils.perform(post(CONTROLLER_PATH + "/batch").contentType(APPLICATION_JSON).content(asJson(List.of())),
+                TEST_EMAIL).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTasksInBatchedInserts() throws Exception {
+        final int size = 20;
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        utils.perform(post(CONTROLLER_PATH + "/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(Collections.nCopies(size, TASK_DATA))), TEST_EMAIL)
+                .andExpect(status().isCreated());
+
+        Assertions.assertEquals(size, statistics.getEntityInsertCount());
+        // unbatched, every task and every label link would be a statement of its own
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < size,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void rowsInsertedPastHibernateTakeSequenceIds() throws Exception {
+        final MockHttpServletRequestBuilder create = post(CONTROLLER_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+        utils.perform(create, TEST_EMAIL).andExpect(status().isCreated());
+
+        jdbcTemplate.update("insert into tasks (name, task_status_id, author_id, created_at) "
+                + "values ('raw', 1, 1, current_timestamp)");
+
+        // the next id of Hibernate's reserved block must still be free
+        utils.perform(create, TEST_EMAIL).andExpect(status().isCreated());
+        Assertions.assertEquals(6, taskRepository.count());
+    }
+
+    @Test
+    void updateTasksInBatch() throws Exception {
+        final List<TaskBatchUpdateDto> tasksData = List.of(
+                new TaskBatchUpdateDto(1L, "batchOne", null, null, 2L, Set.of(2L)),
+                new TaskBatchUpdateDto(2L, "batchTwo", null, null, 2L, Set.of())
+        );
+
+        MockHttpServletRequestBuilder rejected = put(CONTROLLER_PATH + "/batch")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(tasksData));
+
+        utils.perform(rejected, TEST_EMAIL).andExpect(status().isUnprocessableEntity());
+
+        MockHttpServletRequestBuilder bestEffort = put(CONTROLLER_PATH + "/batch?mode=BEST_EFFORT")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(tasksData));
+
+        utils.perform(bestEffort, TEST_EMAIL).andExpect(status().isOk());
+
+        MockHttpServletResponse response = utils.perform(get(CONTROLLER_PATH), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertTrue(response.getContentAsString().contains("batchOne"));
+        Assertions.assertFalse(response.getContentAsString().contains("batchTwo"));
+    }
+
     @Test
     void getTaskById() throws Exception {
         MockHttpServletResponse response = utils.perform(get(CONTROLLER_PATH + "/1"), TEST_EMAIL)
@@ -81,6 +235,33 @@ public class TaskControllerTest {
         Assertions.assertEquals(200, response.getStatus());
         Assertions.assertTrue(response.getContentAsString().contains("taskOne"));
         Assertions.assertTrue(response.getContentAsString().contains("taskTwo"));
+        Assertions.assertTrue(response.getContentAsString().contains("Egorov"));
+        Assertions.assertFalse(response.getContentAsString().contains("Egor@Egor.com"));
+        Assertions.assertFalse(response.getContentAsString().contains("descOne"));
+    }
+
+    @Test
+    void getAllTasksInConstantQueries() throws Exception {
+        // the first request warms the caches the way they are warm for both measured requests
+        utils.perform(get(CONTROLLER_PATH), TEST_EMAIL).andExpect(status().isOk());
+        final long statementsForDataset = countStatements(get(CONTROLLER_PATH));
+
+        for (int index = 0; index < EXTRA_TASKS; index++) {
+            jdbcTemplate.update("insert into tasks (name, task_status_id, author_id, executor_id, created_at) "
+                    + "values (?, ?, ?, ?, current_timestamp)",
+                    "extra" + index, index % 3 + 1, index % 3 + 1, (index + 1) % 3 + 1);
+        }
+        jdbcTemplate.update("insert into tasks_labels (task_id, labels_id) "
+                + "select id, mod(id, 3) + 1 from tasks where name like 'extra%'");
+
+        final long statementsForMoreTasks = countStatements(get(CONTROLLER_PATH));
+        Assertions.assertEquals(statementsForDataset, statementsForMoreTasks);
+
+        final String body = utils.perform(get(CONTROLLER_PATH), TEST_EMAIL)
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Assertions.assertTrue(body.contains("extra" + (EXTRA_TASKS - 1)));
     }
 
     @Test
@@ -107,6 +288,308 @@ public class TaskControllerTest {
         Assertions.assertFalse(labelResponse.getContentAsString().contains("taskFilter"));
     }
 
+    @Test
+    void getAllByCursor() throws Exception {
+        MockHttpServletResponse firstPage = utils.perform(get(CONTROLLER_PATH + "?limit=2"), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertEquals(200, firstPage.getStatus());
+        Assertions.assertTrue(firstPage.getContentAsString().contains("taskTwo"));
+        Assertions.assertTrue(firstPage.getContentAsString().contains("taskOne"));
+        Assertions.assertFalse(firstPage.getContentAsString().contains("taskFilter"));
+
+        final String cursor = firstPage.getHeader(TaskController.NEXT_CURSOR_HEADER);
+        Assertions.assertNotNull(cursor);
+
+        MockHttpServletResponse secondPage = utils.perform(
+                get(CONTROLLER_PATH + "?limit=2&cursor=" + cursor), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertEquals(200, secondPage.getStatus());
+        Assertions.assertTrue(secondPage.getContentAsString().contains("taskFilter"));
+        Assertions.assertFalse(secondPage.getContentAsString().contains("taskOne"));
+        Assertions.assertNull(secondPage.getHeader(TaskController.NEXT_CURSOR_HEADER));
+
+        utils.perform(get(CONTROLLER_PATH + "?cursor=broken"), TEST_EMAIL)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTasksConditionally() throws Exception {
+        final String listTag = utils.perform(get(CONTROLLER_PATH), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        final String itemTag = utils.perform(get(CONTROLLER_PATH + "/1"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        Assertions.assertNotNull(listTag);
+        Assertions.assertNotNull(itemTag);
+
+        utils.perform(get(CONTROLLER_PATH).header(IF_NONE_MATCH, listTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+        utils.perform(get(CONTROLLER_PATH + "/1").header(IF_NONE_MATCH, itemTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+
+        MockHttpServletRequestBuilder update = put(CONTROLLER_PATH + "/1")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+        utils.perform(update, TEST_EMAIL).andExpect(status().isOk());
+
+        MockHttpServletResponse list = utils.perform(get(CONTROLLER_PATH).header(IF_NONE_MATCH, listTag), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+        Assertions.assertEquals(200, list.getStatus());
+        Assertions.assertTrue(list.getContentAsString().contains("myTask"));
+        Assertions.assertNotEquals(listTag, list.getHeader(ETAG));
+
+        utils.perform(get(CONTROLLER_PATH + "/1").header(IF_NONE_MATCH, itemTag), TEST_EMAIL)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getStatsAfterChanges() throws Exception {
+        taskStatsService.reconcile();
+
+        Map<String, Object> stats = getStats();
+        Assertions.assertEquals(3, stats.get("total"));
+        Assertions.assertEquals(Map.of("1", 2, "3", 1), stats.get("byStatus"));
+        Assertions.assertEquals(Map.of("1", 1), stats.get("byLabel"));
+
+        MockHttpServletRequestBuilder update = put(CONTROLLER_PATH + "/1")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+        utils.perform(update, TEST_EMAIL).andExpect(status().isOk());
+        utils.perform(delete(CONTROLLER_PATH + "/3"), "Petr@Petr.com").andExpect(status().isOk());
+
+        stats = getStats();
+        Assertions.assertEquals(2, stats.get("total"));
+        Assertions.assertEquals(Map.of("1", 2), stats.get("byStatus"));
+        Assertions.assertEquals(Map.of("1", 2), stats.get("byExecutor"));
+        Assertions.assertEquals(Map.of("1", 2), stats.get("byLabel"));
+
+        taskStatsService.reconcile();
+        Assertions.assertEquals(stats, getStats());
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        taskSearchService.rebuild();
+
+        MockHttpServletResponse found = utils.perform(get(CONTROLLER_PATH + "/search?q=filter"), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+        Assertions.assertEquals(200, found.getStatus());
+        Assertions.assertTrue(found.getContentAsString().contains("taskFilter"));
+        Assertions.assertFalse(found.getContentAsString().contains("taskOne"));
+
+        MockHttpServletRequestBuilder create = post(CONTROLLER_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+        utils.perform(create, TEST_EMAIL).andExpect(status().isCreated());
+        utils.perform(delete(CONTROLLER_PATH + "/3"), "Petr@Petr.com").andExpect(status().isOk());
+
+        MockHttpServletResponse created = utils.perform(get(CONTROLLER_PATH + "/search?q=test"), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+        Assertions.assertTrue(created.getContentAsString().contains("myTask"));
+
+        MockHttpServletResponse deleted = utils.perform(get(CONTROLLER_PATH + "/search?q=filter"), TEST_EMAIL)
+                .andReturn()
+                .getResponse();
+        Assertions.assertEquals("[]", deleted.getContentAsString());
+
+        utils.perform(get(CONTROLLER_PATH + "/search?q=%20"), TEST_EMAIL).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchIndexIsRebuiltWhenTasksChangedPastIt() {
+        taskSearchService.rebuild();
+        jdbcTemplate.update("update tasks set name = 'renamed' where id = 1");
+
+        // the same number of tasks, an unchanged table state: nothing to rebuild
+        taskSearchService.rebuildIfIncomplete();
+        Assertions.assertTrue(taskSearchService.search("renamed", null, null).getContent().isEmpty());
+
+        jdbcTemplate.update("update tasks set version = coalesce(version, 0) + 1 where id = 1");
+        taskSearchService.rebuildIfIncomplete();
+        Assertions.assertEquals(1, taskSearchService.search("renamed", null, null).getContent().size());
+    }
+
+    @Test
+    void exportTasks() throws Exception {
+        final String ndjson = utils.performStreaming(get(CONTROLLER_PATH + "/export"), TEST_EMAIL)
+                .getResponse()
+                .getContentAsString();
+        final List<String> lines = ndjson.lines().collect(Collectors.toList());
+        Assertions.assertEquals(3, lines.size());
+
+        final Map<String, Object> taskTwo = fromJson(lines.get(1), new TypeReference<>() { });
+        Assertions.assertEquals("taskTwo", taskTwo.get("name"));
+        Assertions.assertEquals("Ivan@Ivan.com", taskTwo.get("author"));
+        Assertions.assertEquals(List.of("feature"), taskTwo.get("labels"));
+
+        final String csv = utils.performStreaming(get(CONTROLLER_PATH + "/export?format=CSV&authorId=3"), TEST_EMAIL)
+                .getResponse()
+                .getContentAsString();
+        final List<String> rows = csv.lines().collect(Collectors.toList());
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals("id,name,description,taskStatus,author,executor,labels,createdAt", rows.get(0));
+        Assertions.assertTrue(rows.get(1).startsWith("3,taskFilter,for filter,finished,Petr@Petr.com,Petr@Petr.com,,"));
+    }
+
+    @Test
+    void csvLabelsRoundTrip() throws Exception {
+        jdbcTemplate.update("update labels set name = 'a|b\\c' where id = 2");
+        jdbcTemplate.update("insert into tasks_labels (task_id, labels_id) values (1, 2)");
+
+        final String csv = utils.performStreaming(get(CONTROLLER_PATH + "/export?format=CSV&authorId=1"), TEST_EMAIL)
+                .getResponse()
+                .getContentAsString();
+        Assertions.assertTrue(csv.contains(",a\\|b\\\\c,"));
+
+        final String result = utils.perform(post(CONTROLLER_PATH + "/import?format=CSV").content(csv), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final Map<String, Object> report = fromJson(result, new TypeReference<>() { });
+        Assertions.assertEquals(1, report.get("imported"));
+        Assertions.assertEquals(3, jdbcTemplate.queryForObject("select count(*) from labels", Integer.class));
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from tasks_labels where labels_id = 2", Integer.class));
+    }
+
+    @Test
+    void importTasks() throws Exception {
+        final String ndjson = "{\"name\":\"imported\",\"taskStatus\":\"backlog\",\"executor\":\"Ivan@Ivan.com\","
+                + "\"labels\":[\"bulk\"]}\n"
+                + "{\"name\":\"orphan\",\"taskStatus\":\"backlog\",\"author\":\"nobody@nowhere.com\"}\n"
+                + "{\"name\":\"forged\",\"taskStatus\":\"backlog\",\"author\":\"Ivan@Ivan.com\"}\n"
+                + "{\"name\":\"own\",\"taskStatus\":\"backlog\",\"author\":\"" + TEST_EMAIL + "\"}\n";
+
+        final String result = utils.perform(post(CONTROLLER_PATH + "/import").content(ndjson), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final Map<String, Object> report = fromJson(result, new TypeReference<>() { });
+        Assertions.assertEquals(2, report.get("imported"));
+        Assertions.assertEquals(2, report.get("rejected"));
+        Assertions.assertTrue(result.contains("No users with email nobody@nowhere.com"));
+        Assertions.assertTrue(result.contains("authored by the current user"));
+        Assertions.assertEquals(5, taskRepository.count());
+
+        final String csv = "name,taskStatus,labels\nfrom csv,backlog,bulk|feature\n";
+        utils.perform(post(CONTROLLER_PATH + "/import?format=CSV").content(csv), TEST_EMAIL)
+                .andExpect(status().isOk());
+        Assertions.assertEquals(6, taskRepository.count());
+        Assertions.assertEquals(1, taskSearchService.search("csv", null, null).getContent().size());
+    }
+
+    @Test
+    void importReportsRowsTheDatabaseRejects() throws Exception {
+        final String ndjson = "{\"name\":\"first\",\"taskStatus\":\"new\"}\n"
+                + "{\"name\":\"" + "x".repeat(300) + "\",\"taskStatus\":\"doomed\",\"labels\":[\"doomed\"]}\n"
+                + "{\"name\":\"third\",\"taskStatus\":\"new\"}\n";
+
+        final String result = utils.perform(post(CONTROLLER_PATH + "/import").content(ndjson), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final Map<String, Object> report = fromJson(result, new TypeReference<>() { });
+        Assertions.assertEquals(2, report.get("imported"));
+        Assertions.assertEquals(1, report.get("rejected"));
+        Assertions.assertTrue(result.contains("\"row\":2"));
+        Assertions.assertEquals(5, taskRepository.count());
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from task_statuses where name = 'doomed'", Integer.class));
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from labels where name = 'doomed'", Integer.class));
+
+        final String csv = "name,taskStatus\nbefore,new\n\"unclosed,new\n";
+        final String csvResult = utils.perform(post(CONTROLLER_PATH + "/import?format=CSV").content(csv), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Assertions.assertTrue(csvResult.contains("Quoted value is not closed"));
+        Assertions.assertEquals(6, taskRepository.count());
+    }
+
+    @Test
+    void streamTaskEvents() throws Exception {
+        final MvcResult events = utils.perform(get(CONTROLLER_PATH + "/events"), TEST_EMAIL)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletRequestBuilder create = post(CONTROLLER_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+        utils.perform(create, TEST_EMAIL).andExpect(status().isCreated());
+        utils.perform(delete(CONTROLLER_PATH + "/1"), TEST_EMAIL).andExpect(status().isOk());
+
+        final String stream = awaitEvent(events, "event:deleted");
+        final String created = stream.lines()
+                .takeWhile(line -> !line.equals("event:created"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        Assertions.assertTrue(created.startsWith("id:"));
+        Assertions.assertTrue(stream.contains("\"name\":\"myTask\""));
+        Assertions.assertTrue(stream.contains("\"taskId\":1"));
+
+        final MvcResult resumed = utils.perform(get(CONTROLLER_PATH + "/events")
+                        .header("Last-Event-ID", created.substring("id:".length())), TEST_EMAIL)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final String replayed = awaitEvent(resumed, "event:deleted");
+        Assertions.assertFalse(replayed.contains("event:created"));
+
+        final MvcResult reset = utils.perform(get(CONTROLLER_PATH + "/events").header("Last-Event-ID", "1"), TEST_EMAIL)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitEvent(reset, "event:reset");
+    }
+
+    @Test
+    void importResetsTaskEventStreams() throws Exception {
+        final MvcResult events = utils.perform(get(CONTROLLER_PATH + "/events"), TEST_EMAIL)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        utils.perform(post(CONTROLLER_PATH + "/import").content("{\"name\":\"imported\",\"taskStatus\":\"new\"}\n"),
+                        TEST_EMAIL)
+                .andExpect(status().isOk());
+
+        awaitEvent(events, "event:reset");
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        utils.perform(request, TEST_EMAIL).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static String awaitEvent(MvcResult events, String expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + 5000;
+        String content = events.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = events.getResponse().getContentAsString();
+        }
+        Assertions.assertTrue(content.contains(expected), content);
+        return content;
+    }
+
     @Test
     void updateTask() throws Exception {
         MockHttpServletRequestBuilder request = put(CONTROLLER_PATH + "/1")
@@ -133,6 +616,28 @@ public class TaskControllerTest {
         Assertions.assertEquals(2, taskRepository.count());
     }
 
+    @Test
+    void onlyAuthorCanChangeTask() throws Exception {
+        MockHttpServletRequestBuilder request = put(CONTROLLER_PATH + "/1")
+                .contentType(APPLICATION_JSON)
+                .content(asJson(TASK_DATA));
+
+        utils.perform(request, "Ivan@Ivan.com").andExpect(status().isForbidden());
+        utils.perform(delete(CONTROLLER_PATH + "/1"), "Ivan@Ivan.com").andExpect(status().isForbidden());
+        utils.perform(delete(CONTROLLER_PATH + "/100"), TEST_EMAIL).andExpect(status().isNotFound());
+
+        Assertions.assertEquals(3, taskRepository.count());
+    }
+
+    private Map<String, Object> getStats() throws Exception {
+        final String json = utils.perform(get(CONTROLLER_PATH + "/stats"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return fromJson(json, new TypeReference<>() { });
+    }
+
     @Test
     void securityTest() throws Exception {
         utils.perform(get(CONTROLLER_PATH)).andExpect(status().isUnauthorized());
@@ -4,8 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.database.rider.core.api.configuration.DBUnit;
 import com.github.database.rider.core.api.dataset.DataSet;
 import com.github.database.rider.junit5.api.DBRider;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.dto.LoginDto;
 import hexlet.code.dto.UserDto;
+import hexlet.code.dto.UserUpdateDto;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.PrincipalCache;
+import hexlet.code.service.TokenService;
+import hexlet.code.service.UserService;
 import hexlet.code.utils.TestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -14,14 +20,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
 
 import static hexlet.code.utils.TestUtils.TEST_USERNAME;
 import static hexlet.code.utils.TestUtils.asJson;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +56,18 @@ public class UserControllerTest {
     @Autowired
     private TestUtils utils;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private static final String CONTROLLER_PATH = "/api/users";
 
     @Test
@@ -86,7 +111,7 @@ public class UserControllerTest {
         Assertions.assertTrue(responseOld.getContentAsString().contains("Egor"));
         Assertions.assertFalse(responseOld.getContentAsString().contains("Sidr"));
 
-        UserDto userDto = new UserDto("Sidr@Sidr.com", "Sidr", "Sidorov", "qwerty");
+        UserUpdateDto userDto = new UserUpdateDto("Sidr@Sidr.com", "Sidr", "Sidorov", "qwerty");
 
         final MockHttpServletRequestBuilder request = put(CONTROLLER_PATH + "/1")
                 .contentType(APPLICATION_JSON)
@@ -104,6 +129,72 @@ public class UserControllerTest {
         Assertions.assertFalse(response.getContentAsString().contains("Egor"));
     }
 
+    @Test
+    void tokenIsRejectedAfterEmailChange() throws Exception {
+        final String token = tokenService.getToken(Map.of("username", "Egor@Egor.com"));
+        final UserUpdateDto userDto = new UserUpdateDto("Sidr@Sidr.com", "Sidr", "Sidorov", "qwerty");
+
+        utils.perform(put(CONTROLLER_PATH + "/1")
+                        .header(AUTHORIZATION, token)
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(userDto)))
+                .andExpect(status().isOk());
+
+        utils.perform(put(CONTROLLER_PATH + "/1")
+                        .header(AUTHORIZATION, token)
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(userDto)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void principalCachedBeforeCommitIsEvicted() {
+        final String token = tokenService.getToken(Map.of("username", "Egor@Egor.com"));
+        final UserPrincipal committed = new UserPrincipal(userRepository.findByEmail("Egor@Egor.com").get());
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transaction.executeWithoutResult(status -> {
+            userService.updateUser(1L, new UserUpdateDto("Sidr@Sidr.com", "Sidr", "Sidorov", "qwerty"));
+            // a request resolving the token meanwhile still reads the committed row
+            principalCache.put(token, committed, null, principalCache.generation());
+        });
+
+        Assertions.assertTrue(principalCache.get(token).isEmpty());
+    }
+
+    @Test
+    void updateWithoutPasswordKeepsIt() throws Exception {
+        utils.regDefaultUser().andExpect(status().isCreated());
+        final String passwordHash = userRepository.findByEmail(TEST_USERNAME).get().getPassword();
+        final Long userId = userRepository.findByEmail(TEST_USERNAME).get().getId();
+
+        utils.perform(put(CONTROLLER_PATH + "/" + userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new UserUpdateDto(TEST_USERNAME, "Shrek", "Ogre", null))), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(passwordHash, userRepository.findByEmail(TEST_USERNAME).get().getPassword());
+        utils.perform(post("/api/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new LoginDto(TEST_USERNAME, "123456"))))
+                .andExpect(status().isOk());
+
+        utils.perform(put(CONTROLLER_PATH + "/" + userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new UserUpdateDto(TEST_USERNAME, "Shrek", "Ogre", "654321"))), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        utils.perform(post("/api/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new LoginDto(TEST_USERNAME, "123456"))))
+                .andExpect(status().isUnauthorized());
+        utils.perform(post("/api/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(asJson(new LoginDto(TEST_USERNAME, "654321"))))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void deleteUser() throws Exception {
         utils.regDefaultUser();
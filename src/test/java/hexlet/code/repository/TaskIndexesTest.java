@@ -0,0 +1,106 @@
+package hexlet.code.repository;
+
+import com.github.database.rider.core.api.configuration.DBUnit;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.junit5.api.DBRider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a few thousand tasks and checks that filter, keyset and delete guard queries are served by indexes.
+ * H2 indexes every foreign key by itself, so keyset pages are checked for the composite index that also sorts them.
+ * The plans are logged, so the same queries can be compared against PostgreSQL with EXPLAIN ANALYZE.
+ */
+@SpringBootTest
+@Transactional
+@DBRider
+@DBUnit(alwaysCleanBefore = true)
+@DataSet("tasks.yml")
+public class TaskIndexesTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskIndexesTest.class);
+
+    private static final int SEED_SIZE = 5000;
+
+    private static final int USERS = 3;
+
+    private static final int STATUSES = 3;
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        final List<Object[]> tasks = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < SEED_SIZE; i++) {
+            tasks.add(new Object[] {
+                "seeded" + i, i % STATUSES + 1, i % USERS + 1, (i + 1) % USERS + 1, new Timestamp(start + i)
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tasks (name, task_status_id, author_id, executor_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                tasks
+        );
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void keysetPagesUseCompositeIndexes() {
+        assertUses("IDX_TASKS_CREATED_AT_ID", "SELECT id FROM tasks ORDER BY created_at, id LIMIT 50");
+        assertUses("IDX_TASKS_STATUS_CREATED_AT_ID",
+                "SELECT id FROM tasks WHERE task_status_id = 2 ORDER BY created_at, id LIMIT 50");
+        assertUses("IDX_TASKS_AUTHOR_CREATED_AT_ID",
+                "SELECT id FROM tasks WHERE author_id = 2 ORDER BY created_at, id LIMIT 50");
+        assertUses("IDX_TASKS_EXECUTOR_CREATED_AT_ID",
+                "SELECT id FROM tasks WHERE executor_id = 2 ORDER BY created_at, id LIMIT 50");
+    }
+
+    @Test
+    void filtersUseIndexes() {
+        assertIndexed("SELECT task_id FROM tasks_labels WHERE labels_id = 1");
+        assertIndexed("SELECT labels_id FROM tasks_labels WHERE task_id = 2");
+    }
+
+    @Test
+    void taskLabelLinksAreUnique() {
+        Assertions.assertThrows(DataIntegrityViolationException.class, () ->
+                jdbcTemplate.update("INSERT INTO tasks_labels (task_id, labels_id) VALUES (2, 1)"));
+    }
+
+    @Test
+    void deleteGuardsUseIndexes() {
+        assertIndexed("SELECT id FROM tasks WHERE task_status_id = 1 LIMIT 1");
+        assertIndexed("SELECT t.id FROM tasks t JOIN tasks_labels tl ON tl.task_id = t.id WHERE tl.labels_id = 1");
+    }
+
+    private void assertIndexed(String query) {
+        final String plan = explain(query);
+        Assertions.assertFalse(plan.contains(TABLE_SCAN), plan);
+    }
+
+    private void assertUses(String index, String query) {
+        final String plan = explain(query);
+        Assertions.assertTrue(plan.contains(index), plan);
+    }
+
+    private String explain(String query) {
+        final String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        LOGGER.info("{}\n{}", query, plan);
+        return plan;
+    }
+}
@@ -0,0 +1,77 @@
+package hexlet.code.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+public class JWTTokenServiceTest {
+
+    private static final String ISSUER = "taskMan";
+
+    private static final long EXPIRATION_SEC = 3600;
+
+    private static final long CACHE_SIZE = 100;
+
+    private static final Map<String, Object> ATTRIBUTES = Map.of("username", "ivan@google.com");
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTrip(boolean compress) {
+        final JWTTokenService uncached = new JWTTokenService(ISSUER, EXPIRATION_SEC, 0L, compress, 0);
+        final JWTTokenService cached = new JWTTokenService(ISSUER, EXPIRATION_SEC, 0L, compress, CACHE_SIZE);
+
+        for (JWTTokenService tokenService : new JWTTokenService[] {uncached, cached}) {
+            final String token = tokenService.getToken(ATTRIBUTES);
+            Assertions.assertEquals(compress, header(token).contains("\"zip\":\"GZIP\""));
+
+            final Map<String, Object> claims = tokenService.parse(token);
+            Assertions.assertEquals("ivan@google.com", claims.get("username"));
+            Assertions.assertEquals(ISSUER, claims.get("iss"));
+            Assertions.assertEquals(claims, tokenService.parse(token));
+        }
+    }
+
+    @Test
+    void expiredTokenIsRejectedWhenCached() throws InterruptedException {
+        final JWTTokenService tokenService = new JWTTokenService(ISSUER, 1L, 0L, false, CACHE_SIZE);
+        final String token = tokenService.getToken(ATTRIBUTES);
+        Assertions.assertEquals("ivan@google.com", tokenService.parse(token).get("username"));
+
+        // the expiration is stored in whole seconds, so the token expires within a second
+        Thread.sleep(1500);
+        Assertions.assertThrows(ExpiredJwtException.class, () -> tokenService.parse(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void tamperedTokenIsRejectedWhenCached(boolean compress) {
+        final JWTTokenService tokenService = new JWTTokenService(ISSUER, EXPIRATION_SEC, 0L, compress, CACHE_SIZE);
+        final String token = tokenService.getToken(ATTRIBUTES);
+        tokenService.parse(token);
+
+        final String[] parts = token.split("\\.");
+        final String otherClaims = new JWTTokenService(ISSUER, EXPIRATION_SEC, 0L, compress, 0)
+                .getToken(Map.of("username", "admin@google.com"))
+                .split("\\.")[1];
+        final String signature = parts[2];
+        final char replacement = signature.charAt(0) == 'A' ? 'B' : 'A';
+
+        Assertions.assertThrows(JwtException.class,
+                () -> tokenService.parse(parts[0] + "." + otherClaims + "." + parts[2]));
+        Assertions.assertThrows(JwtException.class,
+                () -> tokenService.parse(parts[0] + "." + parts[1] + "." + replacement + signature.substring(1)));
+        Assertions.assertThrows(JwtException.class,
+                () -> new JWTTokenService(ISSUER, EXPIRATION_SEC, 0L, compress, CACHE_SIZE).parse(token));
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,34 @@
+package hexlet.code.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+public class ServerHeartbeatTest {
+
+    @Autowired
+    private ServerHeartbeat serverHeartbeat;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runningServerIsSeenUntilItMissesBeats() {
+        serverHeartbeat.beat();
+        Assertions.assertTrue(serverHeartbeat.isAnyServerRunning());
+
+        jdbcTemplate.update("update server_heartbeats set beat_at = ?",
+                new Timestamp(System.currentTimeMillis() - 3_600_000));
+        Assertions.assertFalse(serverHeartbeat.isAnyServerRunning());
+
+        serverHeartbeat.beat();
+        Assertions.assertTrue(serverHeartbeat.isAnyServerRunning());
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.utils;
+
+import hexlet.code.service.PrincipalCache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Datasets are reloaded past the application before every test, so nothing it cached may outlive a test.
+ */
+public class CacheResetListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void beforeTestMethod(final TestContext testContext) {
+        final ApplicationContext context = testContext.getApplicationContext();
+        context.getBeanProvider(PrincipalCache.class).ifAvailable(PrincipalCache::clear);
+        context.getBeanProvider(EntityManagerFactory.class).ifAvailable(factory ->
+                factory.unwrap(SessionFactory.class).getCache().evictAllRegions());
+    }
+}